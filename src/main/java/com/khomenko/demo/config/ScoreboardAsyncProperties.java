@@ -0,0 +1,20 @@
+package com.khomenko.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+/**
+ * Configuration of the asynchronous game service, bound from "scoreboard.async" properties.
+ *
+ * @param threads       number of worker threads executing game operations
+ * @param queueCapacity maximal number of pending operations, further operations are rejected
+ */
+
+@Data
+@ConfigurationProperties(prefix = "scoreboard.async")
+public class ScoreboardAsyncProperties {
+    private int threads = Runtime.getRuntime().availableProcessors() * 2;
+
+    private int queueCapacity = 10_000;
+}
@@ -0,0 +1,20 @@
+package com.khomenko.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+/**
+ * Configuration of scoreboard read caches, bound from "scoreboard.cache" properties.
+ *
+ * @param gameMaxSize maximal number of cached single-game lookups
+ * @param teamMaxSize maximal number of cached team active-game checks
+ */
+
+@Data
+@ConfigurationProperties(prefix = "scoreboard.cache")
+public class ScoreboardCacheProperties {
+    private int gameMaxSize = 10_000;
+
+    private int teamMaxSize = 10_000;
+}
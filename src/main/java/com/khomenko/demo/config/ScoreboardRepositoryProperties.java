@@ -0,0 +1,24 @@
+package com.khomenko.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+/**
+ * Configuration of the game repository, bound from "scoreboard.repository" properties.
+ *
+ * @param type                   repository implementation: "in-memory" (default), "off-heap" or "write-behind"
+ * @param offHeapInitialCapacity number of game records allocated up front by the off-heap repository
+ * @param offHeapMaxRankedFinishedGames number of most recently finished games kept in the on-heap ranking with the
+ *                               off-heap repository; older finished games are dropped from rank queries and the binary summary
+ */
+
+@Data
+@ConfigurationProperties(prefix = "scoreboard.repository")
+public class ScoreboardRepositoryProperties {
+    private String type = "in-memory";
+
+    private int offHeapInitialCapacity = 1024;
+
+    private int offHeapMaxRankedFinishedGames = 10000;
+}
@@ -0,0 +1,24 @@
+package com.khomenko.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+/**
+ * Configuration of scoreboard summary evaluation, bound from "scoreboard.summary" properties.
+ *
+ * @param parallelEnabled   whether large summaries are filtered and sorted in parallel
+ * @param parallelThreshold minimal number of games for parallel evaluation, smaller boards are evaluated sequentially
+ * @param parallelism       workers of a dedicated pool for parallel evaluation, 0 - the common fork-join pool;
+ *                          evaluation with a single worker is always sequential
+ */
+
+@Data
+@ConfigurationProperties(prefix = "scoreboard.summary")
+public class ScoreboardSummaryProperties {
+    private boolean parallelEnabled = true;
+
+    private int parallelThreshold = 10_000;
+
+    private int parallelism = 0;
+}
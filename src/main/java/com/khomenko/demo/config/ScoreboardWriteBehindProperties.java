@@ -0,0 +1,34 @@
+package com.khomenko.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+
+/**
+ * Configuration of write-behind persistence, bound from "scoreboard.write-behind" properties.
+ *
+ * @param url           JDBC url of the database the games are written to
+ * @param username      database user
+ * @param password      database password
+ * @param flushInterval delay between the end of a flush and the start of the next one
+ * @param maxBatchSize  maximal number of statements sent to the database in one JDBC batch
+ * @param maxAttempts   number of flushes a change rejected by the database constraints is written in before it is dropped
+ */
+
+@Data
+@ConfigurationProperties(prefix = "scoreboard.write-behind")
+public class ScoreboardWriteBehindProperties {
+    private String url = "jdbc:h2:mem:scoreboard;DB_CLOSE_DELAY=-1";
+
+    private String username = "sa";
+
+    private String password = "";
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private int maxBatchSize = 500;
+
+    private int maxAttempts = 3;
+}
@@ -0,0 +1,70 @@
+package com.khomenko.demo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Measures time-to-first-request: the time from the start of the JVM until the first HTTP request is served, so JVM
+ * boot, class loading and context refresh are all included. The JVM start is taken from the RuntimeMXBean, so the
+ * value also includes other applications or test contexts started before in the same JVM.
+ * The value is logged once and published as the "scoreboard.startup.time-to-first-request" gauge.
+ */
+
+@Slf4j
+@Lazy(false)
+@Component
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private static final long NOT_MEASURED = -1;
+
+    private final AtomicLong timeToFirstRequestMillis = new AtomicLong(NOT_MEASURED);
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    public StartupTimingFilter(MeterRegistry meterRegistry) {
+        Gauge.builder("scoreboard.startup.time-to-first-request", timeToFirstRequestMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the measured time-to-first-request.
+     *
+     * @return The time from JVM start until the first request was served in milliseconds, or -1 if no request was
+     * served.
+     */
+    public long getTimeToFirstRequestMillis() {
+        return timeToFirstRequestMillis.get();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (timeToFirstRequestMillis.get() == NOT_MEASURED)
+                measure(request);
+        }
+    }
+
+    private void measure(HttpServletRequest request) {
+        long elapsedMillis = Math.max(0, System.currentTimeMillis() - jvmStartMillis);
+        if (timeToFirstRequestMillis.compareAndSet(NOT_MEASURED, elapsedMillis))
+            log.info("Time to first request: {} ms ({} {})", elapsedMillis, request.getMethod(), request.getRequestURI());
+    }
+}
@@ -0,0 +1,34 @@
+package com.khomenko.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+
+/**
+ * Datasource of the write-behind repository, created only when "scoreboard.repository.type" is "write-behind".
+ * The "game" table is created from schema.sql before the datasource is handed out. JdbcTemplate and the transaction
+ * manager are auto-configured on top of it.
+ */
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "scoreboard.repository.type", havingValue = "write-behind")
+public class WriteBehindDataSourceConfiguration {
+
+    @Bean
+    public DataSource writeBehindDataSource(ScoreboardWriteBehindProperties writeBehindProperties) {
+        DataSource dataSource = DataSourceBuilder.create()
+                .url(writeBehindProperties.getUrl())
+                .username(writeBehindProperties.getUsername())
+                .password(writeBehindProperties.getPassword())
+                .build();
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")), dataSource);
+        return dataSource;
+    }
+}
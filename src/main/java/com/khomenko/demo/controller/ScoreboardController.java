@@ -0,0 +1,60 @@
+package com.khomenko.demo.controller;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.service.GameService;
+import com.khomenko.demo.service.ScoreboardRanking;
+import com.khomenko.demo.utils.codec.ScoreboardBinaryEncoder;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+
+/**
+ * REST controller serving scoreboard reads. The summary is negotiated by the Accept header as JSON or
+ * as the compact binary format of ScoreboardBinaryEncoder. Binary summaries are encoded from a ScoreboardRanking
+ * snapshot rather than the cached summary, so the scoreboard version they carry always matches their games.
+ */
+
+@Lazy(false)
+@RestController
+@RequestMapping("/scoreboard")
+public class ScoreboardController {
+
+    private final GameService gameService;
+
+    private final ScoreboardRanking scoreboardRanking;
+
+    private final ScoreboardBinaryEncoder binaryEncoder;
+
+    public ScoreboardController(GameService gameService, ScoreboardRanking scoreboardRanking, ScoreboardBinaryEncoder binaryEncoder) {
+        this.gameService = gameService;
+        this.scoreboardRanking = scoreboardRanking;
+        this.binaryEncoder = binaryEncoder;
+    }
+
+    /**
+     * Retrieves the summary of all games as JSON.
+     *
+     * @return A list of games sorted by total score and start time.
+     */
+    @GetMapping(value = "/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<Game> getSummary() {
+        return gameService.getSummaryOfAllGames();
+    }
+
+    /**
+     * Retrieves the summary of all games, or games changed since the given version, in binary format.
+     *
+     * @param sinceVersion The scoreboard version the client already has, 0 for the full summary.
+     * @return The encoded summary.
+     */
+    @GetMapping(value = "/summary", produces = ScoreboardBinaryEncoder.MEDIA_TYPE)
+    public byte[] getBinarySummary(@RequestParam(defaultValue = "0") long sinceVersion) {
+        return binaryEncoder.encode(scoreboardRanking.snapshot(Math.max(0, sinceVersion)), sinceVersion);
+    }
+}
@@ -0,0 +1,30 @@
+package com.khomenko.demo.domain;
+
+import lombok.Value;
+
+
+/**
+ * GameKey is an immutable identity of a game from Football World Cup Score Board
+ * <p>
+ * Each game is unique in terms of team composition, so the pair of playing teams identifies the game
+ *
+ * @param homeTeam home team object
+ * @param awayTeam away team object
+ */
+
+@Value
+public class GameKey {
+    Team homeTeam;
+
+    Team awayTeam;
+
+    /**
+     * Creates the key of the given game.
+     *
+     * @param game The game to create the key for.
+     * @return The key identifying the game by its playing teams.
+     */
+    public static GameKey of(Game game) {
+        return new GameKey(game.getHomeTeam(), game.getAwayTeam());
+    }
+}
@@ -0,0 +1,26 @@
+package com.khomenko.demo.domain;
+
+import lombok.Value;
+
+
+/**
+ * RankChange is representation of a game moving on Football World Cup Score Board after a score change
+ * <p>
+ * Ranks are one-based positions in the summary order
+ *
+ * @param homeTeam     home team object
+ * @param awayTeam     away team object
+ * @param previousRank rank of the game before the change, 0 if the game was not ranked
+ * @param rank         rank of the game after the change
+ */
+
+@Value
+public class RankChange {
+    Team homeTeam;
+
+    Team awayTeam;
+
+    int previousRank;
+
+    int rank;
+}
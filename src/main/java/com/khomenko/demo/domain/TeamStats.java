@@ -0,0 +1,44 @@
+package com.khomenko.demo.domain;
+
+import lombok.Builder;
+import lombok.Data;
+
+
+/**
+ * TeamStats entity is representation of team aggregates from Football World Cup Score Board
+ * <p>
+ * Goals are updated live with every score change, results are counted when the game is finished
+ *
+ * @param team         team object
+ * @param goalsFor     goals scored by the team
+ * @param goalsAgainst goals conceded by the team
+ * @param gamesPlayed  finished games of the team
+ * @param wins         won games of the team
+ * @param draws        drawn games of the team
+ * @param losses       lost games of the team
+ * @param points       league points of the team
+ */
+
+@Data
+@Builder(toBuilder = true)
+public class TeamStats {
+    private Team team;
+
+    private int goalsFor;
+
+    private int goalsAgainst;
+
+    private int gamesPlayed;
+
+    private int wins;
+
+    private int draws;
+
+    private int losses;
+
+    private int points;
+
+    public int getGoalDifference() {
+        return goalsFor - goalsAgainst;
+    }
+}
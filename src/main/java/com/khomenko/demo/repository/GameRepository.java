@@ -1,7 +1,9 @@
 package com.khomenko.demo.repository;
 
 import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,4 +47,45 @@ public interface GameRepository {
      * @return A list of all games.
      */
     List<Game> findAll();
+
+    /**
+     * Retrieves all started games, finished ones included.
+     *
+     * @return A list of started games.
+     */
+    List<Game> findAllStarted();
+
+    /**
+     * Checks whether the team plays a game that is started and not finished yet.
+     *
+     * @param team The team to check.
+     * @return True if the team has an active game, false otherwise.
+     */
+    boolean hasActiveGame(Team team);
+
+    /**
+     * Retrieves games started within the time window, ordered by start time.
+     *
+     * @param from The start of the window, inclusive.
+     * @param to   The end of the window, exclusive.
+     * @return A list of games started within the window.
+     */
+    List<Game> findAllByStartGameTimeBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Retrieves games finished within the time window, ordered by end time.
+     *
+     * @param from The start of the window, inclusive.
+     * @param to   The end of the window, exclusive.
+     * @return A list of games finished within the window.
+     */
+    List<Game> findAllByEndGameTimeBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Retrieves games started before the given time and not finished yet, ordered by start time.
+     *
+     * @param time The upper bound of start time, exclusive.
+     * @return A list of active games started before the time.
+     */
+    List<Game> findAllActiveStartedBefore(LocalDateTime time);
 }
@@ -1,35 +1,69 @@
 package com.khomenko.demo.repository;
 
 import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.domain.Team;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 
 /**
- * An implementation of the GameRepository interface that manages game data in a HashSet.
+ * An implementation of the GameRepository interface that manages game data in a HashMap keyed by playing teams.
+ * Start and end times are additionally kept in navigable indexes to serve time-windowed queries, and active games are
+ * counted per team to check a team for an active game in constant time.
  */
 
+@Lazy(false)
 @Component
+@ConditionalOnProperty(name = "scoreboard.repository.type", havingValue = "in-memory", matchIfMissing = true)
 public class GameRepositoryImpl implements GameRepository {
 
     /**
-     * A HashSet to store game objects in-memory.
+     * A HashMap to store game objects in-memory. Games are unique in terms of team composition.
      */
-    Set<Game> gameSet = new HashSet<>();
+    Map<GameKey, Game> gameMap = new HashMap<>();
+
+    /**
+     * Index of all started games by start time.
+     */
+    GameTimeIndex<GameKey> startTimeIndex = new GameTimeIndex<>();
+
+    /**
+     * Index of all finished games by end time.
+     */
+    GameTimeIndex<GameKey> endTimeIndex = new GameTimeIndex<>();
+
+    /**
+     * Index of started but not finished games by start time.
+     */
+    GameTimeIndex<GameKey> activeStartTimeIndex = new GameTimeIndex<>();
+
+    /**
+     * Number of active games of each team. Teams without active games are absent.
+     */
+    Map<Team, Integer> activeGameCounts = new HashMap<>();
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Game save(Game game) {
-        if (gameSet.contains(game)) {
-            gameSet.remove(game);
-            gameSet.add(game);
-
-            return game;
-        }
-        gameSet.add(game);
+    public synchronized Game save(Game game) {
+        GameKey key = GameKey.of(game);
+        boolean wasActive = activeStartTimeIndex.contains(key);
+
+        gameMap.put(key, game);
+        startTimeIndex.put(key, game.getStartGameTime());
+        endTimeIndex.put(key, game.getEndGameTime());
+        activeStartTimeIndex.put(key, game.getEndGameTime() == null ? game.getStartGameTime() : null);
+
+        boolean isActive = activeStartTimeIndex.contains(key);
+        if (wasActive != isActive)
+            countActiveGame(key, isActive ? 1 : -1);
+
         return game;
     }
 
@@ -37,31 +71,93 @@ public class GameRepositoryImpl implements GameRepository {
      * {@inheritDoc}
      */
     @Override
-    public void delete(Game game) {
-        gameSet.remove(game);
+    public synchronized void delete(Game game) {
+        GameKey key = GameKey.of(game);
+        if (activeStartTimeIndex.contains(key))
+            countActiveGame(key, -1);
+
+        gameMap.remove(key);
+        startTimeIndex.remove(key);
+        endTimeIndex.remove(key);
+        activeStartTimeIndex.remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void deleteAll() {
+        gameMap.clear();
+        startTimeIndex.clear();
+        endTimeIndex.clear();
+        activeStartTimeIndex.clear();
+        activeGameCounts.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Optional<Game> findGame(Game game) {
+        return Optional.ofNullable(gameMap.get(GameKey.of(game)));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void deleteAll() {
-        gameSet.clear();
+    public synchronized List<Game> findAll() {
+        return new ArrayList<>(gameMap.values());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Optional<Game> findGame(Game game) {
-        return gameSet.stream().filter(gameTemp -> gameTemp.equals(game)).findFirst();
+    public synchronized List<Game> findAllStarted() {
+        return toGames(startTimeIndex.findAll());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Game> findAll() {
-        return new ArrayList<>(gameSet);
+    public synchronized boolean hasActiveGame(Team team) {
+        return activeGameCounts.containsKey(team);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAllByStartGameTimeBetween(LocalDateTime from, LocalDateTime to) {
+        return toGames(startTimeIndex.findBetween(from, to));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAllByEndGameTimeBetween(LocalDateTime from, LocalDateTime to) {
+        return toGames(endTimeIndex.findBetween(from, to));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAllActiveStartedBefore(LocalDateTime time) {
+        return toGames(activeStartTimeIndex.findBefore(time));
+    }
+
+    private void countActiveGame(GameKey key, int delta) {
+        activeGameCounts.merge(key.getHomeTeam(), delta, (count, change) -> count + change == 0 ? null : count + change);
+        activeGameCounts.merge(key.getAwayTeam(), delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    private List<Game> toGames(List<GameKey> keys) {
+        List<Game> games = new ArrayList<>(keys.size());
+        keys.forEach(key -> games.add(gameMap.get(key)));
+        return games;
     }
 }
@@ -0,0 +1,111 @@
+package com.khomenko.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+
+/**
+ * A navigable index of keys by point in time. Range lookups cost O(log n + k), where k is the number of matching keys.
+ *
+ * @param <K> The type of the indexed keys.
+ */
+class GameTimeIndex<K> {
+
+    /**
+     * Keys grouped by indexed time, sorted in ascending order.
+     */
+    private final NavigableMap<LocalDateTime, Set<K>> keysByTime = new TreeMap<>();
+
+    /**
+     * Currently indexed time of each key, needed to relocate the key when its time changes.
+     */
+    private final Map<K, LocalDateTime> timeByKey = new HashMap<>();
+
+    /**
+     * Indexes the key at the given time, replacing its previous position. A null time removes the key from the index.
+     *
+     * @param key  The key to index.
+     * @param time The time to index the key at, or null.
+     */
+    void put(K key, LocalDateTime time) {
+        if (Objects.equals(timeByKey.get(key), time))
+            return;
+
+        remove(key);
+        if (time == null)
+            return;
+
+        timeByKey.put(key, time);
+        keysByTime.computeIfAbsent(time, timeKey -> new LinkedHashSet<>()).add(key);
+    }
+
+    /**
+     * Removes the key from the index.
+     *
+     * @param key The key to remove.
+     */
+    void remove(K key) {
+        LocalDateTime indexedTime = timeByKey.remove(key);
+        if (indexedTime == null)
+            return;
+
+        Set<K> keys = keysByTime.get(indexedTime);
+        keys.remove(key);
+        if (keys.isEmpty())
+            keysByTime.remove(indexedTime);
+    }
+
+    /**
+     * Removes all keys from the index.
+     */
+    void clear() {
+        keysByTime.clear();
+        timeByKey.clear();
+    }
+
+    /**
+     * Checks whether the key is indexed.
+     *
+     * @param key The key to check.
+     * @return True if the key is indexed at some time, false otherwise.
+     */
+    boolean contains(K key) {
+        return timeByKey.containsKey(key);
+    }
+
+    /**
+     * Finds all indexed keys, ordered by time.
+     *
+     * @return A list of all indexed keys.
+     */
+    List<K> findAll() {
+        return flatten(keysByTime);
+    }
+
+    /**
+     * Finds keys indexed within the time window, ordered by time.
+     *
+     * @param from The start of the window, inclusive.
+     * @param to   The end of the window, exclusive.
+     * @return A list of keys indexed within the window.
+     */
+    List<K> findBetween(LocalDateTime from, LocalDateTime to) {
+        return flatten(keysByTime.subMap(from, true, to, false));
+    }
+
+    /**
+     * Finds keys indexed before the given time, ordered by time.
+     *
+     * @param time The upper bound, exclusive.
+     * @return A list of keys indexed before the time.
+     */
+    List<K> findBefore(LocalDateTime time) {
+        return flatten(keysByTime.headMap(time, false));
+    }
+
+    private List<K> flatten(NavigableMap<LocalDateTime, Set<K>> range) {
+        List<K> keys = new ArrayList<>();
+        range.values().forEach(keys::addAll);
+        return keys;
+    }
+}
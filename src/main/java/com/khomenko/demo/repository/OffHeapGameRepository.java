@@ -0,0 +1,306 @@
+package com.khomenko.demo.repository;
+
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.domain.Team;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+
+/**
+ * An implementation of the GameRepository interface that keeps games as fixed-width records in direct (off-heap) memory.
+ * <p>
+ * Only teams, active game counts per team and the index of team pair to record offset stay on heap; the index entry
+ * is the only per-game heap state. Game objects, with copies of the interned teams, are materialized on read and only
+ * for games the query returns, so mutations and active game checks do not build objects for the stored history and
+ * GC work does not grow with it (see RepositoryHistoryBenchmark).
+ * Records are kept dense: a deleted record is replaced by the last one. Time-windowed queries scan the records
+ * sequentially instead of keeping on-heap time indexes.
+ */
+
+@Lazy(false)
+@Component
+@ConditionalOnProperty(name = "scoreboard.repository.type", havingValue = "off-heap")
+public class OffHeapGameRepository implements GameRepository {
+
+    /**
+     * Marks a missing start or end game time.
+     */
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final int HOME_TEAM_ID = 0;
+    private static final int AWAY_TEAM_ID = 4;
+    private static final int HOME_TEAM_SCORE = 8;
+    private static final int AWAY_TEAM_SCORE = 12;
+    private static final int START_EPOCH_SECOND = 16;
+    private static final int START_NANO = 24;
+    private static final int END_NANO = 28;
+    private static final int END_EPOCH_SECOND = 32;
+    private static final int RECORD_SIZE = 40;
+
+    /**
+     * Largest buffer capacity holding whole records that is addressable with int offsets.
+     */
+    static final int MAX_CAPACITY = Integer.MAX_VALUE / RECORD_SIZE * RECORD_SIZE;
+
+    /**
+     * Interned teams, the index in the list is the team id stored in records.
+     */
+    private final List<Team> teams = new ArrayList<>();
+
+    private final Map<Team, Integer> teamIds = new HashMap<>();
+
+    /**
+     * Number of active games of each team, indexed by team id.
+     */
+    private int[] activeGameCounts = new int[16];
+
+    /**
+     * Index of team pair to record offset in the buffer.
+     */
+    private final Map<GameKey, Integer> offsets = new HashMap<>();
+
+    private ByteBuffer records;
+
+    private int recordCount;
+
+    public OffHeapGameRepository(ScoreboardRepositoryProperties repositoryProperties) {
+        this.records = ByteBuffer.allocateDirect(Math.max(1, repositoryProperties.getOffHeapInitialCapacity()) * RECORD_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Game save(Game game) {
+        int homeTeamId = internTeam(game.getHomeTeam());
+        int awayTeamId = internTeam(game.getAwayTeam());
+        GameKey key = new GameKey(teams.get(homeTeamId), teams.get(awayTeamId));
+
+        Integer offset = offsets.get(key);
+        if (offset == null) {
+            offset = allocateRecord();
+            offsets.put(key, offset);
+        } else if (isActive(offset)) {
+            countActiveGame(offset, -1);
+        }
+
+        records.putInt(offset + HOME_TEAM_ID, homeTeamId);
+        records.putInt(offset + AWAY_TEAM_ID, awayTeamId);
+        records.putInt(offset + HOME_TEAM_SCORE, game.getHomeTeamScore());
+        records.putInt(offset + AWAY_TEAM_SCORE, game.getAwayTeamScore());
+        putTime(offset + START_EPOCH_SECOND, offset + START_NANO, game.getStartGameTime());
+        putTime(offset + END_EPOCH_SECOND, offset + END_NANO, game.getEndGameTime());
+        if (isActive(offset))
+            countActiveGame(offset, 1);
+
+        return game;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void delete(Game game) {
+        Integer offset = offsets.remove(GameKey.of(game));
+        if (offset == null)
+            return;
+        if (isActive(offset))
+            countActiveGame(offset, -1);
+
+        int lastOffset = --recordCount * RECORD_SIZE;
+        if (offset != lastOffset) {
+            records.put(offset, records, lastOffset, RECORD_SIZE);
+            offsets.put(readKey(offset), offset);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void deleteAll() {
+        offsets.clear();
+        teams.clear();
+        teamIds.clear();
+        Arrays.fill(activeGameCounts, 0);
+        recordCount = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Optional<Game> findGame(Game game) {
+        return Optional.ofNullable(offsets.get(GameKey.of(game))).map(this::readGame);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAll() {
+        List<Game> games = new ArrayList<>(recordCount);
+        for (int offset = 0; offset < recordCount * RECORD_SIZE; offset += RECORD_SIZE)
+            games.add(readGame(offset));
+        return games;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAllStarted() {
+        List<Game> games = new ArrayList<>();
+        for (int offset = 0; offset < recordCount * RECORD_SIZE; offset += RECORD_SIZE) {
+            if (records.getLong(offset + START_EPOCH_SECOND) != NO_TIME)
+                games.add(readGame(offset));
+        }
+        return games;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean hasActiveGame(Team team) {
+        Integer teamId = teamIds.get(team);
+        return teamId != null && activeGameCounts[teamId] > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAllByStartGameTimeBetween(LocalDateTime from, LocalDateTime to) {
+        return findAllByTime(START_EPOCH_SECOND, START_NANO, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAllByEndGameTimeBetween(LocalDateTime from, LocalDateTime to) {
+        return findAllByTime(END_EPOCH_SECOND, END_NANO, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Game> findAllActiveStartedBefore(LocalDateTime time) {
+        return findAllByTime(START_EPOCH_SECOND, START_NANO, LocalDateTime.MIN, time, true);
+    }
+
+    /**
+     * Scans records for times within [from, to) and returns the matching games ordered by that time.
+     */
+    private List<Game> findAllByTime(int epochSecondField, int nanoField, LocalDateTime from, LocalDateTime to, boolean activeOnly) {
+        List<Integer> matchingOffsets = new ArrayList<>();
+        for (int offset = 0; offset < recordCount * RECORD_SIZE; offset += RECORD_SIZE) {
+            if (activeOnly && records.getLong(offset + END_EPOCH_SECOND) != NO_TIME)
+                continue;
+
+            LocalDateTime time = getTime(offset + epochSecondField, offset + nanoField);
+            if (time != null && !time.isBefore(from) && time.isBefore(to))
+                matchingOffsets.add(offset);
+        }
+
+        matchingOffsets.sort(Comparator.<Integer>comparingLong(offset -> records.getLong(offset + epochSecondField))
+                .thenComparingInt(offset -> records.getInt(offset + nanoField)));
+
+        List<Game> games = new ArrayList<>(matchingOffsets.size());
+        matchingOffsets.forEach(offset -> games.add(readGame(offset)));
+        return games;
+    }
+
+    private int internTeam(Team team) {
+        int teamId = teamIds.computeIfAbsent(team, internedTeam -> {
+            teams.add(Team.builder().countryOfOrigin(internedTeam.getCountryOfOrigin()).build());
+            return teams.size() - 1;
+        });
+        if (teamId >= activeGameCounts.length)
+            activeGameCounts = Arrays.copyOf(activeGameCounts, activeGameCounts.length * 2);
+        return teamId;
+    }
+
+    private boolean isActive(int offset) {
+        return records.getLong(offset + START_EPOCH_SECOND) != NO_TIME && records.getLong(offset + END_EPOCH_SECOND) == NO_TIME;
+    }
+
+    private void countActiveGame(int offset, int delta) {
+        activeGameCounts[records.getInt(offset + HOME_TEAM_ID)] += delta;
+        activeGameCounts[records.getInt(offset + AWAY_TEAM_ID)] += delta;
+    }
+
+    private int allocateRecord() {
+        if ((long) (recordCount + 1) * RECORD_SIZE > records.capacity()) {
+            ByteBuffer grownRecords = ByteBuffer.allocateDirect(grownCapacity(records.capacity()));
+            grownRecords.put(0, records, 0, recordCount * RECORD_SIZE);
+            records = grownRecords;
+        }
+        return recordCount++ * RECORD_SIZE;
+    }
+
+    /**
+     * Returns the number of interned teams, kept on heap.
+     *
+     * @return The number of interned teams.
+     */
+    synchronized int getInternedTeamCount() {
+        return teams.size();
+    }
+
+    /**
+     * Doubles the capacity, capped at the largest capacity addressable with int offsets.
+     *
+     * @param capacity The current capacity in bytes.
+     * @return The grown capacity in bytes.
+     * @throws IllegalStateException If the capacity cannot grow any further.
+     */
+    static int grownCapacity(int capacity) {
+        if (capacity >= MAX_CAPACITY)
+            throw new IllegalStateException(String.format("Off-heap game storage is full. Failed to grow beyond %s records.", MAX_CAPACITY / RECORD_SIZE));
+
+        return (int) Math.min((long) capacity * 2, MAX_CAPACITY);
+    }
+
+    private GameKey readKey(int offset) {
+        return new GameKey(teams.get(records.getInt(offset + HOME_TEAM_ID)), teams.get(records.getInt(offset + AWAY_TEAM_ID)));
+    }
+
+    /**
+     * Materializes the record. Teams are copied, so callers cannot change the interned teams the index is keyed by.
+     */
+    private Game readGame(int offset) {
+        return Game.builder()
+                .homeTeam(copyOf(teams.get(records.getInt(offset + HOME_TEAM_ID))))
+                .awayTeam(copyOf(teams.get(records.getInt(offset + AWAY_TEAM_ID))))
+                .homeTeamScore(records.getInt(offset + HOME_TEAM_SCORE))
+                .awayTeamScore(records.getInt(offset + AWAY_TEAM_SCORE))
+                .startGameTime(getTime(offset + START_EPOCH_SECOND, offset + START_NANO))
+                .endGameTime(getTime(offset + END_EPOCH_SECOND, offset + END_NANO))
+                .build();
+    }
+
+    private static Team copyOf(Team team) {
+        return Team.builder().countryOfOrigin(team.getCountryOfOrigin()).build();
+    }
+
+    private void putTime(int epochSecondIndex, int nanoIndex, LocalDateTime time) {
+        records.putLong(epochSecondIndex, time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC));
+        records.putInt(nanoIndex, time == null ? 0 : time.getNano());
+    }
+
+    private LocalDateTime getTime(int epochSecondIndex, int nanoIndex) {
+        long epochSecond = records.getLong(epochSecondIndex);
+        return epochSecond == NO_TIME ? null : LocalDateTime.ofEpochSecond(epochSecond, records.getInt(nanoIndex), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,397 @@
+package com.khomenko.demo.repository;
+
+import com.khomenko.demo.config.ScoreboardWriteBehindProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.domain.Team;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * An implementation of the GameRepository interface that keeps GameRepositoryImpl authoritative for all reads and
+ * writes changes behind to the "game" table of the datasource.
+ * <p>
+ * Saves and deletes only record the latest state of the game in memory, so database latency never reaches the caller.
+ * The in-memory change and its pending database change are recorded under one lock, so both are applied in the same
+ * order. A background flush writes pending changes, coalesced to one per game, in JDBC batches within one transaction.
+ * Flush lag (age of the oldest change not yet committed) and pending changes are published as
+ * "scoreboard.write-behind.*" meters.
+ * <p>
+ * Games without team names are rejected on save, as the table cannot hold them. If the database still rejects a batch
+ * by its constraints, the changes are written one per transaction, so only the rejected ones stay pending; a change
+ * rejected in max-attempts flushes is dropped and logged, so one bad row never blocks persistence of the others.
+ */
+
+@Slf4j
+@Lazy(false)
+@Component
+@ConditionalOnProperty(name = "scoreboard.repository.type", havingValue = "write-behind")
+public class WriteBehindGameRepository implements GameRepository {
+
+    private static final String MERGE_GAME = "MERGE INTO game (home_team, away_team, home_team_score, away_team_score, start_game_time, end_game_time) "
+            + "KEY (home_team, away_team) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_GAME = "DELETE FROM game WHERE home_team = ? AND away_team = ?";
+
+    private static final String DELETE_ALL_GAMES = "DELETE FROM game";
+
+    private static final long NO_CHANGE = Long.MAX_VALUE;
+
+    private final GameRepositoryImpl gameRepository = new GameRepositoryImpl();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxBatchSize;
+
+    private final int maxAttempts;
+
+    private final ScheduledExecutorService flushExecutor;
+
+    private final Timer flushTimer;
+
+    private final Counter flushedChanges;
+
+    private final Counter droppedChanges;
+
+    /**
+     * Latest not flushed change of each game. A null snapshot marks a deleted game.
+     */
+    private Map<GameKey, PendingChange> pendingChanges = new LinkedHashMap<>();
+
+    private boolean deleteAllPending;
+
+    /**
+     * Number of deleteAll() calls, to discard changes of a failed flush that were deleted meanwhile.
+     */
+    private long deleteAllGeneration;
+
+    /**
+     * Serializes scheduled and explicit flushes.
+     */
+    private final Object flushLock = new Object();
+
+    private long oldestPendingNanos = NO_CHANGE;
+
+    private volatile long oldestFlushingNanos = NO_CHANGE;
+
+    public WriteBehindGameRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     ScoreboardWriteBehindProperties writeBehindProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = writeBehindProperties.getMaxBatchSize();
+        this.maxAttempts = Math.max(1, writeBehindProperties.getMaxAttempts());
+
+        this.flushTimer = Timer.builder("scoreboard.write-behind.flush").register(meterRegistry);
+        this.flushedChanges = Counter.builder("scoreboard.write-behind.flushed").register(meterRegistry);
+        this.droppedChanges = Counter.builder("scoreboard.write-behind.dropped").register(meterRegistry);
+        Gauge.builder("scoreboard.write-behind.lag", this, WriteBehindGameRepository::getFlushLagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("scoreboard.write-behind.pending", this, WriteBehindGameRepository::getPendingChangeCount)
+                .register(meterRegistry);
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushIntervalMillis = writeBehindProperties.getFlushInterval().toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Game save(Game game) {
+        if (game.getHomeTeam() == null || game.getHomeTeam().getCountryOfOrigin() == null
+                || game.getAwayTeam() == null || game.getAwayTeam().getCountryOfOrigin() == null)
+            throw new IllegalArgumentException(String.format("Team country of origin is missing. Failed to save game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+
+        Game savedGame = gameRepository.save(game);
+        enqueue(GameKey.of(game), Game.builder()
+                .homeTeam(game.getHomeTeam())
+                .awayTeam(game.getAwayTeam())
+                .homeTeamScore(game.getHomeTeamScore())
+                .awayTeamScore(game.getAwayTeamScore())
+                .startGameTime(game.getStartGameTime())
+                .endGameTime(game.getEndGameTime())
+                .build());
+        return savedGame;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void delete(Game game) {
+        gameRepository.delete(game);
+        enqueue(GameKey.of(game), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void deleteAll() {
+        gameRepository.deleteAll();
+        pendingChanges.clear();
+        deleteAllPending = true;
+        deleteAllGeneration++;
+        if (oldestPendingNanos == NO_CHANGE)
+            oldestPendingNanos = System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Game> findGame(Game game) {
+        return gameRepository.findGame(game);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> findAll() {
+        return gameRepository.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> findAllStarted() {
+        return gameRepository.findAllStarted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasActiveGame(Team team) {
+        return gameRepository.hasActiveGame(team);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> findAllByStartGameTimeBetween(LocalDateTime from, LocalDateTime to) {
+        return gameRepository.findAllByStartGameTimeBetween(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> findAllByEndGameTimeBetween(LocalDateTime from, LocalDateTime to) {
+        return gameRepository.findAllByEndGameTimeBetween(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> findAllActiveStartedBefore(LocalDateTime time) {
+        return gameRepository.findAllActiveStartedBefore(time);
+    }
+
+    /**
+     * Returns the age of the oldest change not yet committed to the database.
+     *
+     * @return The flush lag in milliseconds, or 0 if all changes are committed.
+     */
+    public double getFlushLagMillis() {
+        long oldestNanos;
+        synchronized (this) {
+            oldestNanos = Math.min(oldestPendingNanos, oldestFlushingNanos);
+        }
+        return oldestNanos == NO_CHANGE ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestNanos);
+    }
+
+    /**
+     * Returns the number of games with changes waiting for the next flush.
+     *
+     * @return The number of pending changes.
+     */
+    public synchronized int getPendingChangeCount() {
+        return pendingChanges.size();
+    }
+
+    /**
+     * Writes all pending changes to the database in JDBC batches within one transaction.
+     * If the database rejects the batch by its constraints, the changes are written one per transaction and only the
+     * rejected ones are kept pending, until they fail in max-attempts flushes and are dropped.
+     * Changes of a failed flush are kept pending, unless the game changed again or all games were deleted meanwhile.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<GameKey, PendingChange> flushingChanges;
+            boolean flushingDeleteAll;
+            long flushingGeneration;
+            synchronized (this) {
+                if (pendingChanges.isEmpty() && !deleteAllPending)
+                    return;
+
+                flushingChanges = pendingChanges;
+                flushingDeleteAll = deleteAllPending;
+                flushingGeneration = deleteAllGeneration;
+                oldestFlushingNanos = oldestPendingNanos;
+                pendingChanges = new LinkedHashMap<>();
+                deleteAllPending = false;
+                oldestPendingNanos = NO_CHANGE;
+            }
+
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> write(flushingChanges.values(), flushingDeleteAll)));
+                flushedChanges.increment(flushingChanges.size());
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Write-behind batch rejected by the database, writing changes one by one", e);
+                flushTimer.record(() -> flushEach(flushingChanges, flushingDeleteAll, flushingGeneration));
+            } catch (RuntimeException e) {
+                requeue(flushingChanges, flushingDeleteAll, flushingGeneration);
+                throw e;
+            } finally {
+                oldestFlushingNanos = NO_CHANGE;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    /**
+     * Writes changes of a batch rejected by the database one per transaction. Rejected changes are kept pending with
+     * one more failed attempt, or dropped after max-attempts. Changes not written for other reasons are kept pending
+     * and the first such failure is rethrown.
+     */
+    private void flushEach(Map<GameKey, PendingChange> changes, boolean deleteAll, long generation) {
+        if (deleteAll) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(), true));
+            } catch (RuntimeException e) {
+                requeue(changes, true, generation);
+                throw e;
+            }
+        }
+
+        Map<GameKey, PendingChange> failedChanges = new LinkedHashMap<>();
+        RuntimeException failure = null;
+        for (PendingChange change : changes.values()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(change), false));
+                flushedChanges.increment();
+            } catch (DataIntegrityViolationException e) {
+                if (change.failedAttempts() + 1 < maxAttempts) {
+                    failedChanges.put(change.key(), change.withFailedAttempt());
+                } else {
+                    droppedChanges.increment();
+                    log.error("Write-behind change of game with teams: {}, {} rejected {} times by the database, dropped",
+                            change.key().getHomeTeam(), change.key().getAwayTeam(), maxAttempts, e);
+                }
+            } catch (RuntimeException e) {
+                failedChanges.put(change.key(), change);
+                if (failure == null)
+                    failure = e;
+            }
+        }
+
+        requeue(failedChanges, false, generation);
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Keeps changes of a failed flush pending, unless the game changed again or all games were deleted meanwhile.
+     */
+    private synchronized void requeue(Map<GameKey, PendingChange> changes, boolean deleteAll, long generation) {
+        // A later deleteAll() is pending and supersedes both the failed changes and the failed delete.
+        if (generation != deleteAllGeneration)
+            return;
+
+        changes.forEach(pendingChanges::putIfAbsent);
+        deleteAllPending |= deleteAll;
+        if (!changes.isEmpty() || deleteAll)
+            oldestPendingNanos = Math.min(oldestPendingNanos, oldestFlushingNanos);
+    }
+
+    private void enqueue(GameKey key, Game snapshot) {
+        PendingChange previousChange = pendingChanges.remove(key);
+        long enqueuedNanos = previousChange == null ? System.nanoTime() : previousChange.enqueuedNanos();
+        pendingChanges.put(key, new PendingChange(key, snapshot, enqueuedNanos, 0));
+        if (oldestPendingNanos == NO_CHANGE)
+            oldestPendingNanos = enqueuedNanos;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush failed, changes are kept for the next flush", e);
+        }
+    }
+
+    private void write(Collection<PendingChange> changes, boolean deleteAll) {
+        if (deleteAll)
+            jdbcTemplate.update(DELETE_ALL_GAMES);
+
+        List<Object[]> merges = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (PendingChange change : changes) {
+            GameKey key = change.key();
+            Game game = change.snapshot();
+            if (game == null) {
+                deletes.add(new Object[]{key.getHomeTeam().getCountryOfOrigin(), key.getAwayTeam().getCountryOfOrigin()});
+            } else {
+                merges.add(new Object[]{key.getHomeTeam().getCountryOfOrigin(), key.getAwayTeam().getCountryOfOrigin(),
+                        game.getHomeTeamScore(), game.getAwayTeamScore(), game.getStartGameTime(), game.getEndGameTime()});
+            }
+        }
+
+        for (int from = 0; from < deletes.size(); from += maxBatchSize)
+            jdbcTemplate.batchUpdate(DELETE_GAME, deletes.subList(from, Math.min(from + maxBatchSize, deletes.size())));
+        for (int from = 0; from < merges.size(); from += maxBatchSize)
+            jdbcTemplate.batchUpdate(MERGE_GAME, merges.subList(from, Math.min(from + maxBatchSize, merges.size())));
+    }
+
+    /**
+     * Latest state of a game waiting for the flush, with the time its oldest not flushed change was recorded and the
+     * number of flushes the database rejected it in.
+     */
+    private record PendingChange(GameKey key, Game snapshot, long enqueuedNanos, int failedAttempts) {
+
+        private PendingChange withFailedAttempt() {
+            return new PendingChange(key, snapshot, enqueuedNanos, failedAttempts + 1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.domain.Game;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * A non-blocking service interface for managing games. Methods return immediately; returned futures never complete
+ * exceptionally, rejections are encoded in the GameResult as values.
+ * <p>
+ * Operations on the same game are executed in submission order, operations on different games run concurrently.
+ */
+public interface AsyncGameService {
+
+    /**
+     * Starts a game with an initial score of 0 - 0.
+     *
+     * @param game The game to start.
+     * @return A future of the started game, or of the error that rejected the start.
+     */
+    CompletableFuture<GameResult<Game>> startGame(@NonNull Game game);
+
+    /**
+     * Finishes a game and removes it from the scoreboard.
+     *
+     * @param game The game to finish.
+     * @return A future of the finished game, or of the error that rejected finishing.
+     */
+    CompletableFuture<GameResult<Game>> finishGame(@NonNull Game game);
+
+    /**
+     * Updates the score of a game with the provided home team and away team scores.
+     *
+     * @param game The game to update.
+     * @return A future of the updated game, or of the error that rejected the update.
+     */
+    CompletableFuture<GameResult<Game>> updateScore(@NonNull Game game);
+
+    /**
+     * Retrieves a game by its playing teams.
+     *
+     * @param game The game to retrieve, identified by home team and away team.
+     * @return A future of the stored game, or of the error if the game is missing.
+     */
+    CompletableFuture<GameResult<Game>> getGame(@NonNull Game game);
+
+    /**
+     * Retrieves a summary of all games by total score.
+     *
+     * @return A future of the games sorted by total score and start time.
+     */
+    CompletableFuture<GameResult<List<Game>>> getSummaryOfAllGames();
+}
@@ -0,0 +1,168 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.config.ScoreboardAsyncProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.utils.exception.CustomBusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * An implementation of the AsyncGameService interface on top of the GameService.
+ * <p>
+ * Each game has its own lane: a private chain of links where an operation starts when the previous operation of the
+ * same game completed. Callers get copies of the result futures, so cancelling or completing a returned future never
+ * breaks the lane. Lanes share one worker pool and never block a thread while waiting, so a slow operation delays only
+ * its own game. Reads are not ordered and run directly on the pool.
+ * <p>
+ * At most "scoreboard.async.queue-capacity" operations are pending at a time, further operations are rejected
+ * immediately with a GameResult error, so callers get backpressure instead of an unbounded queue.
+ */
+
+@Service
+public class AsyncGameServiceImpl implements AsyncGameService {
+
+    private static final CompletableFuture<Void> IDLE_LANE = CompletableFuture.completedFuture(null);
+
+    private final GameService gameService;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Permits of operations that may be pending, queued in lanes or in the executor.
+     */
+    private final Semaphore pendingPermits;
+
+    /**
+     * Link completed by the last submitted operation of each game with pending operations.
+     */
+    private final Map<GameKey, CompletableFuture<Void>> laneTails = new ConcurrentHashMap<>();
+
+    public AsyncGameServiceImpl(GameService gameService, ScoreboardAsyncProperties asyncProperties) {
+        this.gameService = gameService;
+        this.pendingPermits = new Semaphore(asyncProperties.getQueueCapacity());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Pending operations never exceed the queue capacity, so the executor rejects only after shutdown.
+        this.executor = new ThreadPoolExecutor(asyncProperties.getThreads(), asyncProperties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(asyncProperties.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "async-game-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GameResult<Game>> startGame(@NonNull Game game) {
+        return submitInLane(GameKey.of(game), () -> gameService.startGame(game));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GameResult<Game>> finishGame(@NonNull Game game) {
+        return submitInLane(GameKey.of(game), () -> gameService.finishGame(game));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GameResult<Game>> updateScore(@NonNull Game game) {
+        return submitInLane(GameKey.of(game), () -> gameService.updateScore(game));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GameResult<Game>> getGame(@NonNull Game game) {
+        return submit(() -> gameService.getGame(game));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GameResult<List<Game>>> getSummaryOfAllGames() {
+        return submit(gameService::getSummaryOfAllGames);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<GameResult<T>> submit(Supplier<T> operation) {
+        if (!pendingPermits.tryAcquire())
+            return CompletableFuture.completedFuture(overloaded());
+
+        CompletableFuture<GameResult<T>> result = new CompletableFuture<>();
+        dispatch(operation, result, new CompletableFuture<>());
+        return result.copy();
+    }
+
+    private <T> CompletableFuture<GameResult<T>> submitInLane(GameKey key, Supplier<T> operation) {
+        if (!pendingPermits.tryAcquire())
+            return CompletableFuture.completedFuture(overloaded());
+
+        CompletableFuture<GameResult<T>> result = new CompletableFuture<>();
+        CompletableFuture<Void> link = new CompletableFuture<>();
+        CompletableFuture<Void> previousLink = laneTails.put(key, link);
+
+        // Links only ever complete normally, so the lane advances whatever happened to the previous operation.
+        (previousLink == null ? IDLE_LANE : previousLink).whenComplete((ignored, error) -> dispatch(operation, result, link));
+        // Drop the lane once its last operation completed, unless a newer operation was queued meanwhile.
+        link.whenComplete((ignored, error) -> laneTails.remove(key, link));
+        return result.copy();
+    }
+
+    /**
+     * Runs the operation on the pool, completes its result and then its lane link, whatever the outcome.
+     */
+    private <T> void dispatch(Supplier<T> operation, CompletableFuture<GameResult<T>> result, CompletableFuture<Void> link) {
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(execute(operation));
+                } catch (Error e) {
+                    result.complete(GameResult.failure(new CustomBusinessException(String.format("Game operation failed: %s", e), e)));
+                    throw e;
+                } finally {
+                    pendingPermits.release();
+                    link.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.complete(GameResult.failure(new CustomBusinessException("Async game service is shut down. Failed to execute game operation.", e)));
+            pendingPermits.release();
+            link.complete(null);
+        }
+    }
+
+    private static <T> GameResult<T> overloaded() {
+        return GameResult.failure(new CustomBusinessException("Async game service is overloaded. Failed to queue game operation."));
+    }
+
+    private static <T> GameResult<T> execute(Supplier<T> operation) {
+        try {
+            return GameResult.success(operation.get());
+        } catch (CustomBusinessException e) {
+            return GameResult.failure(e);
+        } catch (RuntimeException e) {
+            return GameResult.failure(new CustomBusinessException(String.format("Game operation failed: %s", e.getMessage()), e));
+        }
+    }
+}
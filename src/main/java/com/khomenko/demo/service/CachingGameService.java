@@ -0,0 +1,221 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.config.ScoreboardCacheProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.domain.RankChange;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.utils.cache.BoundedCache;
+import com.khomenko.demo.utils.cache.CacheStats;
+import com.khomenko.demo.utils.exception.CustomBusinessException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A caching decorator of GameServiceImpl for summary, single-game lookup and team active-game checks.
+ * Mutations invalidate only the entries of the touched game and teams, plus the summary that contains the game.
+ * Starts of games with a team cached as active are rejected from the team cache; other starts are checked by
+ * GameServiceImpl against the repository under its start lock, with the same definition of an active game.
+ * Cache hits, misses, evictions and size are published to the meter registry as "scoreboard.cache.*" meters.
+ */
+
+@Lazy(false)
+@Primary
+@Service
+public class CachingGameService implements GameService {
+
+    private static final String SUMMARY_KEY = "summary";
+
+    private final GameService gameService;
+
+    private final BoundedCache<String, List<Game>> summaryCache = new BoundedCache<>(1);
+
+    private final BoundedCache<GameKey, Game> gameCache;
+
+    private final BoundedCache<Team, Boolean> teamCache;
+
+    public CachingGameService(GameServiceImpl gameService, ScoreboardCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.gameService = gameService;
+        this.gameCache = new BoundedCache<>(cacheProperties.getGameMaxSize());
+        this.teamCache = new BoundedCache<>(cacheProperties.getTeamMaxSize());
+
+        registerMeters(meterRegistry, "summary", summaryCache);
+        registerMeters(meterRegistry, "game", gameCache);
+        registerMeters(meterRegistry, "team", teamCache);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Game startGame(@NonNull Game game) throws CustomBusinessException {
+        if (hasActiveGame(game.getHomeTeam()))
+            throw new CustomBusinessException(String.format("Failed to start game. Home team: %s has active match", game.getHomeTeam()));
+
+        if (hasActiveGame(game.getAwayTeam()))
+            throw new CustomBusinessException(String.format("Failed to start game. Away team: %s has active match", game.getAwayTeam()));
+
+        Game startedGame = gameService.startGame(game);
+
+        gameCache.invalidate(GameKey.of(game));
+        teamCache.invalidate(game.getHomeTeam());
+        teamCache.invalidate(game.getAwayTeam());
+        summaryCache.invalidate(SUMMARY_KEY);
+
+        return startedGame;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Game finishGame(@NonNull Game game) throws CustomBusinessException {
+        Game finishedGame = gameService.finishGame(game);
+
+        gameCache.invalidate(GameKey.of(game));
+        teamCache.invalidate(game.getHomeTeam());
+        teamCache.invalidate(game.getAwayTeam());
+        summaryCache.invalidate(SUMMARY_KEY);
+
+        return finishedGame;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Game updateScore(@NonNull Game game) throws CustomBusinessException {
+        Game updatedGame = gameService.updateScore(game);
+
+        // Active-game state of the teams is not changed by a score update.
+        gameCache.invalidate(GameKey.of(game));
+        summaryCache.invalidate(SUMMARY_KEY);
+
+        return updatedGame;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getSummaryOfAllGames() throws CustomBusinessException {
+        return new ArrayList<>(summaryCache.get(SUMMARY_KEY, () -> List.copyOf(gameService.getSummaryOfAllGames())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Game getGame(@NonNull Game game) throws CustomBusinessException {
+        return gameCache.get(GameKey.of(game), () -> gameService.getGame(game));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasActiveGame(@NonNull Team team) {
+        return teamCache.get(team, () -> gameService.hasActiveGame(team));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getGamesStartedBetween(@NonNull LocalDateTime from, @NonNull LocalDateTime to) throws CustomBusinessException {
+        return gameService.getGamesStartedBetween(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getGamesFinishedBetween(@NonNull LocalDateTime from, @NonNull LocalDateTime to) throws CustomBusinessException {
+        return gameService.getGamesFinishedBetween(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getGamesRunningLongerThan(@NonNull Duration duration) throws CustomBusinessException {
+        return gameService.getGamesRunningLongerThan(duration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRankOfGame(@NonNull Game game) throws CustomBusinessException {
+        return gameService.getRankOfGame(game);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getGamesInRankRange(int fromRank, int toRank) throws CustomBusinessException {
+        return gameService.getGamesInRankRange(fromRank, toRank);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RankChange> getLastRankChanges() {
+        return gameService.getLastRankChanges();
+    }
+
+    /**
+     * Returns usage stats of the summary cache.
+     *
+     * @return The summary cache stats.
+     */
+    public CacheStats getSummaryCacheStats() {
+        return summaryCache.getStats();
+    }
+
+    /**
+     * Returns usage stats of the single-game lookup cache.
+     *
+     * @return The game cache stats.
+     */
+    public CacheStats getGameCacheStats() {
+        return gameCache.getStats();
+    }
+
+    /**
+     * Returns usage stats of the team active-game check cache.
+     *
+     * @return The team cache stats.
+     */
+    public CacheStats getTeamCacheStats() {
+        return teamCache.getStats();
+    }
+
+    private static void registerMeters(MeterRegistry meterRegistry, String cacheName, BoundedCache<?, ?> cache) {
+        FunctionCounter.builder("scoreboard.cache.hits", cache, counted -> counted.getStats().getHits())
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        FunctionCounter.builder("scoreboard.cache.misses", cache, counted -> counted.getStats().getMisses())
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        FunctionCounter.builder("scoreboard.cache.evictions", cache, counted -> counted.getStats().getEvictions())
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        Gauge.builder("scoreboard.cache.size", cache, gauged -> gauged.getStats().getSize())
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.utils.exception.CustomBusinessException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+
+
+/**
+ * Outcome of an asynchronous game operation: either a value or the business error that rejected the operation.
+ *
+ * @param <T> The type of the value.
+ */
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GameResult<T> {
+
+    private final T value;
+
+    private final CustomBusinessException error;
+
+    /**
+     * Creates a successful result.
+     *
+     * @param value The value of the operation.
+     * @param <T>   The type of the value.
+     * @return The successful result.
+     */
+    public static <T> GameResult<T> success(T value) {
+        return new GameResult<>(value, null);
+    }
+
+    /**
+     * Creates a failed result.
+     *
+     * @param error The error that rejected the operation.
+     * @param <T>   The type of the value.
+     * @return The failed result.
+     */
+    public static <T> GameResult<T> failure(CustomBusinessException error) {
+        return new GameResult<>(null, error);
+    }
+
+    /**
+     * Checks whether the operation succeeded.
+     *
+     * @return True if the result holds a value, false if it holds an error.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the value of a successful result.
+     *
+     * @return An optional containing the value, or an empty optional if the operation failed or returned null.
+     */
+    public Optional<T> toOptional() {
+        return Optional.ofNullable(value);
+    }
+}
@@ -1,9 +1,13 @@
 package com.khomenko.demo.service;
 
 import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.RankChange;
+import com.khomenko.demo.domain.Team;
 import com.khomenko.demo.utils.exception.CustomBusinessException;
 import org.springframework.lang.NonNull;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -46,4 +50,76 @@ public interface GameService {
      * @throws CustomBusinessException If an error occurs while retrieving the summary.
      */
     List<Game> getSummaryOfAllGames() throws CustomBusinessException;
+
+    /**
+     * Retrieves a game by its playing teams.
+     *
+     * @param game The game to retrieve, identified by home team and away team.
+     * @return The stored game.
+     * @throws CustomBusinessException If the game is missing.
+     */
+    Game getGame(@NonNull Game game) throws CustomBusinessException;
+
+    /**
+     * Checks whether the team plays a started and not finished game.
+     *
+     * @param team The team to check.
+     * @return True if the team has an active game, false otherwise.
+     */
+    boolean hasActiveGame(@NonNull Team team);
+
+    /**
+     * Retrieves games started within the time window, ordered by start time.
+     *
+     * @param from The start of the window, inclusive.
+     * @param to   The end of the window, exclusive.
+     * @return A list of games started within the window.
+     * @throws CustomBusinessException If the window ends before it starts.
+     */
+    List<Game> getGamesStartedBetween(@NonNull LocalDateTime from, @NonNull LocalDateTime to) throws CustomBusinessException;
+
+    /**
+     * Retrieves games finished within the time window, ordered by end time.
+     *
+     * @param from The start of the window, inclusive.
+     * @param to   The end of the window, exclusive.
+     * @return A list of games finished within the window.
+     * @throws CustomBusinessException If the window ends before it starts.
+     */
+    List<Game> getGamesFinishedBetween(@NonNull LocalDateTime from, @NonNull LocalDateTime to) throws CustomBusinessException;
+
+    /**
+     * Retrieves not finished games running longer than the given duration, ordered by start time.
+     *
+     * @param duration The minimal running duration.
+     * @return A list of active games running longer than the duration.
+     * @throws CustomBusinessException If the duration is negative.
+     */
+    List<Game> getGamesRunningLongerThan(@NonNull Duration duration) throws CustomBusinessException;
+
+    /**
+     * Retrieves the position of a started game in the summary in O(log n).
+     *
+     * @param game The game to look up, identified by home team and away team.
+     * @return The one-based rank of the game.
+     * @throws CustomBusinessException If the game is missing or not started.
+     */
+    int getRankOfGame(@NonNull Game game) throws CustomBusinessException;
+
+    /**
+     * Retrieves games in the range of summary positions in O(log n + k).
+     *
+     * @param fromRank The first one-based rank, inclusive.
+     * @param toRank   The last one-based rank, inclusive.
+     * @return A list of games in rank order.
+     * @throws CustomBusinessException If the rank range is invalid.
+     */
+    List<Game> getGamesInRankRange(int fromRank, int toRank) throws CustomBusinessException;
+
+    /**
+     * Retrieves rank changes caused by the last score change that moved games in the summary.
+     *
+     * @return The moved game followed by the games it passed, empty if no game moved yet.
+     */
+    List<RankChange> getLastRankChanges();
 }
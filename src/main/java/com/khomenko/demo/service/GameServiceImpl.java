@@ -1,60 +1,110 @@
 package com.khomenko.demo.service;
 
+import com.khomenko.demo.config.ScoreboardSummaryProperties;
 import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.domain.RankChange;
+import com.khomenko.demo.domain.Team;
 import com.khomenko.demo.repository.GameRepository;
 import com.khomenko.demo.utils.exception.CustomBusinessException;
+import jakarta.annotation.PreDestroy;
 import lombok.NonNull;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
  * An implementation of the GameService interface that provides functionality to manage and interact with game-related operations.
  * This class allows starting, finishing, updating scores, and retrieving summaries of games.
+ * Game starts are serialized, as they check active games of both teams across all games. Mutations of the same game
+ * are serialized by a lock striped by playing teams, so team stats and the ranking apply score changes in the order
+ * they are saved and no score change is applied after the game is finished.
  */
 
+@Lazy(false)
 @Service
 public class GameServiceImpl implements GameService {
 
+    /**
+     * Summary order: total score descending, then the most recently started games first.
+     */
+    private static final Comparator<SummaryEntry> SUMMARY_ORDER = (entry1, entry2) -> {
+        int scoreDiff = entry2.totalScore() - entry1.totalScore();
+        return scoreDiff != 0
+                ? scoreDiff
+                : entry2.startGameTime().compareTo(entry1.startGameTime());
+    };
+
+    /**
+     * Number of locks mutations of games are striped over.
+     */
+    private static final int GAME_LOCK_STRIPES = 64;
+
+    private final Object[] gameLocks = new Object[GAME_LOCK_STRIPES];
+
     private final GameRepository gameRepository;
 
-    public GameServiceImpl(GameRepository gameRepository) {
+    private final TeamStatsService teamStatsService;
+
+    private final ScoreboardSummaryProperties summaryProperties;
+
+    private final ScoreboardRanking scoreboardRanking;
+
+    /**
+     * Pool of parallel summary evaluation, or null to evaluate on the common fork-join pool.
+     */
+    private final ForkJoinPool summaryPool;
+
+    private final int summaryParallelism;
+
+    public GameServiceImpl(GameRepository gameRepository, TeamStatsService teamStatsService, ScoreboardSummaryProperties summaryProperties,
+                           ScoreboardRanking scoreboardRanking) {
         this.gameRepository = gameRepository;
+        this.teamStatsService = teamStatsService;
+        this.summaryProperties = summaryProperties;
+        this.scoreboardRanking = scoreboardRanking;
+        this.summaryPool = summaryProperties.getParallelism() > 0 ? new ForkJoinPool(summaryProperties.getParallelism()) : null;
+        this.summaryParallelism = summaryPool != null ? summaryPool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+        for (int i = 0; i < gameLocks.length; i++)
+            gameLocks[i] = new Object();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Game startGame(@NonNull Game game) throws CustomBusinessException {
-        Game savedGame = gameRepository.findGame(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is missing. Failed to start game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
+    public synchronized Game startGame(@NonNull Game game) throws CustomBusinessException {
+        synchronized (lockOf(game)) {
+            Game savedGame = gameRepository.findGame(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is missing. Failed to start game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
 
-        if (savedGame.getStartGameTime() != null)
-            throw new CustomBusinessException(String.format("Game is started. Failed to start game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            if (savedGame.getStartGameTime() != null)
+                throw new CustomBusinessException(String.format("Game is started. Failed to start game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        List<Game> gameList = gameRepository.findAll();
+            if (hasActiveGame(game.getHomeTeam()))
+                throw new CustomBusinessException(String.format("Failed to start game. Home team: %s has active match", game.getHomeTeam()));
 
-        gameList.remove(game);
-        boolean homeTeamHasActiveGame = gameList.stream()
-                .filter(gameFilter -> (gameFilter.getHomeTeam().equals(game.getHomeTeam()) || gameFilter.getAwayTeam().equals(game.getHomeTeam())))
-                .anyMatch(gameMatcher -> gameMatcher.getStartGameTime() != null);
-        if (homeTeamHasActiveGame)
-            throw new CustomBusinessException(String.format("Failed to start game. Home team: %s has active match", game.getHomeTeam()));
+            if (hasActiveGame(game.getAwayTeam()))
+                throw new CustomBusinessException(String.format("Failed to start game. Away team: %s has active match", game.getAwayTeam()));
 
-        boolean awayTeamHasActiveGame = gameList.stream()
-                .filter(gameFilter -> (gameFilter.getAwayTeam().equals(game.getAwayTeam()) || gameFilter.getHomeTeam().equals(game.getAwayTeam())))
-                .anyMatch(gameMatcher -> gameMatcher.getStartGameTime() != null);
-        if (awayTeamHasActiveGame)
-            throw new CustomBusinessException(String.format("Failed to start game. Away team: %s has active match", game.getAwayTeam()));
+            savedGame.setStartGameTime(LocalDateTime.now());
+            savedGame.setHomeTeamScore(0);
+            savedGame.setAwayTeamScore(0);
 
-        savedGame.setStartGameTime(LocalDateTime.now());
-        savedGame.setHomeTeamScore(0);
-        savedGame.setAwayTeamScore(0);
+            Game startedGame = gameRepository.save(savedGame);
+            scoreboardRanking.add(savedGame);
 
-        return gameRepository.save(savedGame);
+            return startedGame;
+        }
     }
 
     /**
@@ -62,25 +112,33 @@ public class GameServiceImpl implements GameService {
      */
     @Override
     public Game finishGame(@NonNull Game game) throws CustomBusinessException {
-        Game savedGame = gameRepository.findGame(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is missing. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
+        synchronized (lockOf(game)) {
+            Game savedGame = gameRepository.findGame(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is missing. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
 
-        if (savedGame.getStartGameTime() == null)
-            throw new CustomBusinessException(String.format("Game is not started. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            if (savedGame.getStartGameTime() == null)
+                throw new CustomBusinessException(String.format("Game is not started. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        if (savedGame.getEndGameTime() != null)
-            throw new CustomBusinessException(String.format("Game is already finished. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            if (savedGame.getEndGameTime() != null)
+                throw new CustomBusinessException(String.format("Game is already finished. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        if (game.getEndGameTime().isBefore(savedGame.getStartGameTime()))
-            throw new CustomBusinessException(String.format("Game cannot be finished before started time. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            if (game.getEndGameTime().isBefore(savedGame.getStartGameTime()))
+                throw new CustomBusinessException(String.format("Game cannot be finished before started time. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        if (game.getHomeTeamScore() < 0 || game.getAwayTeamScore() < 0)
-            throw new CustomBusinessException(String.format("Game cannot be finished with negative scores. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            if (game.getHomeTeamScore() < 0 || game.getAwayTeamScore() < 0)
+                throw new CustomBusinessException(String.format("Game cannot be finished with negative scores. Failed to finish game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        savedGame.setEndGameTime(LocalDateTime.now());
-        savedGame.setHomeTeamScore(game.getHomeTeamScore());
-        savedGame.setAwayTeamScore(game.getAwayTeamScore());
+            int previousHomeTeamScore = savedGame.getHomeTeamScore();
+            int previousAwayTeamScore = savedGame.getAwayTeamScore();
+            savedGame.setEndGameTime(LocalDateTime.now());
+            savedGame.setHomeTeamScore(game.getHomeTeamScore());
+            savedGame.setAwayTeamScore(game.getAwayTeamScore());
 
-        return gameRepository.save(savedGame);
+            Game finishedGame = gameRepository.save(savedGame);
+            teamStatsService.applyFinishedGame(savedGame, previousHomeTeamScore, previousAwayTeamScore);
+            scoreboardRanking.update(savedGame);
+
+            return finishedGame;
+        }
     }
 
     /**
@@ -88,21 +146,29 @@ public class GameServiceImpl implements GameService {
      */
     @Override
     public Game updateScore(@NonNull Game game) throws CustomBusinessException {
-        Game savedGame = gameRepository.findGame(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is missing. Failed to update score for game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
+        synchronized (lockOf(game)) {
+            Game savedGame = gameRepository.findGame(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is missing. Failed to update score for game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
+
+            if (savedGame.getStartGameTime() == null)
+                throw new CustomBusinessException(String.format("Game is not started. Failed to update score for game with teams:  %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        if (savedGame.getStartGameTime() == null)
-            throw new CustomBusinessException(String.format("Game is not started. Failed to update score for game with teams:  %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            if (savedGame.getEndGameTime() != null)
+                throw new CustomBusinessException(String.format("Game is already finished. Failed to update score for game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        if (savedGame.getEndGameTime() != null)
-            throw new CustomBusinessException(String.format("Game is already finished. Failed to update score for game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            if (game.getHomeTeamScore() < 0 || game.getAwayTeamScore() < 0)
+                throw new CustomBusinessException(String.format("Scores to update are negative. Failed to update score for  game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
 
-        if (game.getHomeTeamScore() < 0 || game.getAwayTeamScore() < 0)
-            throw new CustomBusinessException(String.format("Scores to update are negative. Failed to update score for  game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+            int previousHomeTeamScore = savedGame.getHomeTeamScore();
+            int previousAwayTeamScore = savedGame.getAwayTeamScore();
+            savedGame.setHomeTeamScore(game.getHomeTeamScore());
+            savedGame.setAwayTeamScore(game.getAwayTeamScore());
 
-        savedGame.setHomeTeamScore(game.getHomeTeamScore());
-        savedGame.setAwayTeamScore(game.getAwayTeamScore());
+            Game updatedGame = gameRepository.save(savedGame);
+            teamStatsService.applyScoreChange(savedGame, previousHomeTeamScore, previousAwayTeamScore);
+            scoreboardRanking.update(savedGame);
 
-        return gameRepository.save(savedGame);
+            return updatedGame;
+        }
     }
 
     /**
@@ -110,15 +176,148 @@ public class GameServiceImpl implements GameService {
      */
     @Override
     public List<Game> getSummaryOfAllGames() throws CustomBusinessException {
+        List<Game> gameList = gameRepository.findAllStarted();
+        if (!isParallelSummary(gameList.size()))
+            return sortSummary(gameList.stream());
+        if (summaryPool == null)
+            return sortSummary(gameList.parallelStream());
+
+        // A parallel stream runs on the pool of the task that evaluates it.
+        return summaryPool.submit(() -> sortSummary(gameList.parallelStream())).join();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Game getGame(@NonNull Game game) throws CustomBusinessException {
+        return gameRepository.findGame(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is missing. Failed to get game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasActiveGame(@NonNull Team team) {
+        return gameRepository.hasActiveGame(team);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getGamesStartedBetween(@NonNull LocalDateTime from, @NonNull LocalDateTime to) throws CustomBusinessException {
+        if (to.isBefore(from))
+            throw new CustomBusinessException(String.format("Time window ends before it starts. Failed to find games started between: %s, %s.", from, to));
+
+        return gameRepository.findAllByStartGameTimeBetween(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getGamesFinishedBetween(@NonNull LocalDateTime from, @NonNull LocalDateTime to) throws CustomBusinessException {
+        if (to.isBefore(from))
+            throw new CustomBusinessException(String.format("Time window ends before it starts. Failed to find games finished between: %s, %s.", from, to));
 
-        return gameRepository.findAll().stream()
-                .filter(game -> game.getStartGameTime() != null)
-                .sorted((game1, game2) -> {
-                    int scoreDiff = ((game2.getHomeTeamScore() + game2.getAwayTeamScore()) - (game1.getHomeTeamScore() + game1.getAwayTeamScore()));
-                    return scoreDiff != 0
-                            ? scoreDiff
-                            : game2.getStartGameTime().compareTo(game1.getStartGameTime());
-                })
+        return gameRepository.findAllByEndGameTimeBetween(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Game> getGamesRunningLongerThan(@NonNull Duration duration) throws CustomBusinessException {
+        if (duration.isNegative())
+            throw new CustomBusinessException(String.format("Duration is negative. Failed to find games running longer than: %s.", duration));
+
+        return gameRepository.findAllActiveStartedBefore(LocalDateTime.now().minus(duration));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRankOfGame(@NonNull Game game) throws CustomBusinessException {
+        if (gameRepository.findGame(game).isEmpty()) {
+            scoreboardRanking.remove(game);
+            throw new CustomBusinessException(String.format("Game is missing. Failed to get rank of game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam()));
+        }
+
+        return scoreboardRanking.getRank(game).orElseThrow(() -> new CustomBusinessException(String.format("Game is not started. Failed to get rank of game with teams: %s, %s.", game.getHomeTeam(), game.getAwayTeam())));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ranked games deleted from the repository are removed from the ranking and the range is read again, so the range
+     * is never short of games ranked below it.
+     */
+    @Override
+    public List<Game> getGamesInRankRange(int fromRank, int toRank) throws CustomBusinessException {
+        if (fromRank < 1 || toRank < fromRank)
+            throw new CustomBusinessException(String.format("Rank range is invalid. Failed to get games in rank range: %s, %s.", fromRank, toRank));
+
+        while (true) {
+            List<Game> gameList = new ArrayList<>();
+            boolean rankingChanged = false;
+            for (GameKey key : scoreboardRanking.getGamesInRankRange(fromRank, toRank)) {
+                Game rankedGame = Game.builder().homeTeam(key.getHomeTeam()).awayTeam(key.getAwayTeam()).build();
+                Optional<Game> savedGame = gameRepository.findGame(rankedGame);
+                if (savedGame.isPresent())
+                    gameList.add(savedGame.get());
+                else
+                    rankingChanged |= scoreboardRanking.remove(rankedGame);
+            }
+            if (!rankingChanged)
+                return gameList;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RankChange> getLastRankChanges() {
+        return scoreboardRanking.getLastRankChanges();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (summaryPool != null)
+            summaryPool.shutdown();
+    }
+
+    private Object lockOf(Game game) {
+        return gameLocks[Math.floorMod(GameKey.of(game).hashCode(), gameLocks.length)];
+    }
+
+    /**
+     * Parallel evaluation pays off only for large boards and when parallel streams have more than one worker.
+     */
+    private boolean isParallelSummary(int gameCount) {
+        return summaryProperties.isParallelEnabled()
+                && gameCount >= summaryProperties.getParallelThreshold()
+                && summaryParallelism > 1;
+    }
+
+    private static List<Game> sortSummary(Stream<Game> gameStream) {
+        return gameStream
+                .map(SummaryEntry::of)
+                .sorted(SUMMARY_ORDER)
+                .map(SummaryEntry::game)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Snapshot of the sort keys of a game. Games are sorted by snapshots, so score updates running concurrently on
+     * other threads cannot change the order in the middle of the sort.
+     */
+    private record SummaryEntry(Game game, int totalScore, LocalDateTime startGameTime) {
+
+        private static SummaryEntry of(Game game) {
+            return new SummaryEntry(game, game.getHomeTeamScore() + game.getAwayTeamScore(), game.getStartGameTime());
+        }
+    }
 }
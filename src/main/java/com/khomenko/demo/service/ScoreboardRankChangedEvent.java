@@ -0,0 +1,18 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.domain.RankChange;
+import lombok.Value;
+
+import java.util.List;
+
+
+/**
+ * Application event published when a score change moves games on the scoreboard.
+ *
+ * @param rankChanges the moved game followed by the games it passed, all with previous and new rank
+ */
+
+@Value
+public class ScoreboardRankChangedEvent {
+    List<RankChange> rankChanges;
+}
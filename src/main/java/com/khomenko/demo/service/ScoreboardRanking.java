@@ -0,0 +1,230 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.domain.RankChange;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.utils.collection.OrderStatisticTree;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+
+/**
+ * Keeps started games in an order-statistic tree in summary order (total score, then the most recently started first),
+ * so rank of a game and games in a rank range are answered in O(log n) and O(log n + k) without sorting the summary.
+ * <p>
+ * Score changes that move a game publish a ScoreboardRankChangedEvent with the rank deltas of the moved game and
+ * of the games it passed. Ranks are one-based.
+ * <p>
+ * The scoreboard version is advanced under the ranking lock on every placed game, so a snapshot never carries a
+ * version ahead of the games it contains.
+ * <p>
+ * With the off-heap repository, only the most recently finished games are kept, so the on-heap ranking does not grow
+ * with the game history. Active games are always ranked.
+ */
+
+@Component
+public class ScoreboardRanking {
+
+    /**
+     * Summary order, with playing teams as tie-breaker to keep the order total.
+     */
+    private static final Comparator<RankEntry> RANK_ORDER = Comparator.comparingInt(RankEntry::totalScore).reversed()
+            .thenComparing(RankEntry::startGameTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(entry -> entry.key().getHomeTeam().getCountryOfOrigin(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(entry -> entry.key().getAwayTeam().getCountryOfOrigin(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<GameKey, RankEntry> entries = new HashMap<>();
+
+    private final OrderStatisticTree<RankEntry> ranking = new OrderStatisticTree<>(RANK_ORDER);
+
+    /**
+     * Keys of ranked finished games, the oldest finished first.
+     */
+    private final Deque<GameKey> finishedKeys = new ArrayDeque<>();
+
+    private final int maxFinishedGames;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ScoreboardVersionTracker versionTracker;
+
+    private List<RankChange> lastRankChanges = List.of();
+
+    public ScoreboardRanking(ApplicationEventPublisher eventPublisher, ScoreboardVersionTracker versionTracker,
+                             ScoreboardRepositoryProperties repositoryProperties) {
+        this.eventPublisher = eventPublisher;
+        this.versionTracker = versionTracker;
+        this.maxFinishedGames = "off-heap".equals(repositoryProperties.getType())
+                ? Math.max(1, repositoryProperties.getOffHeapMaxRankedFinishedGames())
+                : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Places a started game at its rank, replacing a previous entry of the same teams, and advances the scoreboard
+     * version. Drops the oldest finished games above the limit of ranked finished games. Does not publish rank changes.
+     *
+     * @param game The started game.
+     */
+    public synchronized void add(Game game) {
+        RankEntry previousEntry = entries.remove(GameKey.of(game));
+        if (previousEntry != null)
+            ranking.remove(previousEntry);
+
+        RankEntry entry = RankEntry.of(game, versionTracker.markChanged());
+        entries.put(entry.key(), entry);
+        ranking.add(entry);
+
+        if (entry.endGameTime() != null && (previousEntry == null || previousEntry.endGameTime() == null)) {
+            finishedKeys.addLast(entry.key());
+            while (finishedKeys.size() > maxFinishedGames)
+                removeFinished(finishedKeys.removeFirst());
+        }
+    }
+
+    private void removeFinished(GameKey key) {
+        RankEntry entry = entries.get(key);
+        if (entry != null && entry.endGameTime() != null) {
+            entries.remove(key);
+            ranking.remove(entry);
+        }
+    }
+
+    /**
+     * Moves a game with changed score to its new rank and publishes the rank changes if the game moved.
+     *
+     * @param game The game with changed score.
+     * @return The rank changes of the moved game and the games it passed, empty if no game moved.
+     */
+    public List<RankChange> update(Game game) {
+        List<RankChange> rankChanges;
+        synchronized (this) {
+            RankEntry previousEntry = entries.get(GameKey.of(game));
+            int previousIndex = previousEntry == null ? -1 : ranking.rank(previousEntry);
+            add(game);
+            int index = ranking.rank(entries.get(GameKey.of(game)));
+
+            if (previousIndex == index)
+                return List.of();
+
+            rankChanges = new ArrayList<>();
+            rankChanges.add(new RankChange(game.getHomeTeam(), game.getAwayTeam(), previousIndex + 1, index + 1));
+            if (previousIndex >= 0) {
+                // Passed games shift by one position towards the previous rank of the moved game.
+                int shift = index < previousIndex ? -1 : 1;
+                int fromIndex = Math.min(index, previousIndex) + (index < previousIndex ? 1 : 0);
+                int toIndex = Math.max(index, previousIndex) + (index < previousIndex ? 1 : 0);
+                List<RankEntry> passedEntries = ranking.range(fromIndex, toIndex);
+                for (int i = 0; i < passedEntries.size(); i++) {
+                    GameKey key = passedEntries.get(i).key();
+                    int passedRank = fromIndex + i + 1;
+                    rankChanges.add(new RankChange(key.getHomeTeam(), key.getAwayTeam(), passedRank + shift, passedRank));
+                }
+            }
+            lastRankChanges = List.copyOf(rankChanges);
+        }
+
+        eventPublisher.publishEvent(new ScoreboardRankChangedEvent(rankChanges));
+        return rankChanges;
+    }
+
+    /**
+     * Removes the game from the ranking, e.g. after it was deleted from the repository. Ranks of the games below it move
+     * up by one; no rank changes are published.
+     *
+     * @param game The game to remove.
+     * @return True if the game was ranked, false otherwise.
+     */
+    public synchronized boolean remove(Game game) {
+        GameKey key = GameKey.of(game);
+        RankEntry entry = entries.remove(key);
+        if (entry == null)
+            return false;
+
+        ranking.remove(entry);
+        if (entry.endGameTime() != null)
+            finishedKeys.remove(key);
+        return true;
+    }
+
+    /**
+     * Returns the rank of the game.
+     *
+     * @param game The game to look up.
+     * @return The one-based rank of the game, or empty if the game is not ranked.
+     */
+    public synchronized OptionalInt getRank(Game game) {
+        RankEntry entry = entries.get(GameKey.of(game));
+        return entry == null ? OptionalInt.empty() : OptionalInt.of(ranking.rank(entry) + 1);
+    }
+
+    /**
+     * Returns keys of games in the rank range, in rank order.
+     *
+     * @param fromRank The first one-based rank, inclusive.
+     * @param toRank   The last one-based rank, inclusive.
+     * @return A list of game keys in the range.
+     */
+    public synchronized List<GameKey> getGamesInRankRange(int fromRank, int toRank) {
+        List<RankEntry> rangeEntries = ranking.range(fromRank - 1, toRank);
+        List<GameKey> keys = new ArrayList<>(rangeEntries.size());
+        rangeEntries.forEach(entry -> keys.add(entry.key()));
+        return keys;
+    }
+
+    /**
+     * Returns the rank changes published by the last score change that moved games.
+     *
+     * @return The last rank changes, empty if no game moved yet.
+     */
+    public synchronized List<RankChange> getLastRankChanges() {
+        return lastRankChanges;
+    }
+
+    /**
+     * Returns ranked games changed after the since version, in rank order, together with the scoreboard version
+     * they were read at. Entries are shared with the ranking, no game state is copied.
+     *
+     * @param sinceVersion The version the reader already has, or 0 for all ranked games.
+     * @return The snapshot of the ranking.
+     */
+    public synchronized Snapshot snapshot(long sinceVersion) {
+        List<RankEntry> changedEntries = new ArrayList<>(sinceVersion > 0 ? 16 : ranking.size());
+        ranking.forEach(entry -> {
+            if (entry.version() > sinceVersion)
+                changedEntries.add(entry);
+        });
+        return new Snapshot(versionTracker.getVersion(), changedEntries);
+    }
+
+    /**
+     * Ranked games read at one scoreboard version.
+     *
+     * @param version The scoreboard version, equal to the version of the last change of any ranked game.
+     * @param entries The entries changed after the requested version, in rank order.
+     */
+    public record Snapshot(long version, List<RankEntry> entries) {
+    }
+
+    /**
+     * Immutable snapshot of the state of a ranked game, with the scoreboard version of its last change.
+     */
+    public record RankEntry(GameKey key, int homeTeamScore, int awayTeamScore, LocalDateTime startGameTime,
+                            LocalDateTime endGameTime, long version) {
+
+        public int totalScore() {
+            return homeTeamScore + awayTeamScore;
+        }
+
+        private static RankEntry of(Game game, long version) {
+            Team homeTeam = Team.builder().countryOfOrigin(game.getHomeTeam().getCountryOfOrigin()).build();
+            Team awayTeam = Team.builder().countryOfOrigin(game.getAwayTeam().getCountryOfOrigin()).build();
+            return new RankEntry(new GameKey(homeTeam, awayTeam), game.getHomeTeamScore(), game.getAwayTeamScore(),
+                    game.getStartGameTime(), game.getEndGameTime(), version);
+        }
+    }
+}
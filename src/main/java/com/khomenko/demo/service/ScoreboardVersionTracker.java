@@ -0,0 +1,37 @@
+package com.khomenko.demo.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Tracks the scoreboard version, advanced on every game change.
+ * Allows readers to fetch only games changed since a version they already have.
+ * <p>
+ * The version is advanced by ScoreboardRanking while it places the changed game, keeping both in step.
+ */
+
+@Component
+public class ScoreboardVersionTracker {
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Advances the scoreboard version on a game change.
+     *
+     * @return The new scoreboard version.
+     */
+    public long markChanged() {
+        return version.incrementAndGet();
+    }
+
+    /**
+     * Returns the current scoreboard version.
+     *
+     * @return The version of the last game change, or 0 if no game changed.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+}
@@ -0,0 +1,49 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.domain.TeamStats;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * A service interface for per-team aggregates, maintained incrementally from game score changes.
+ */
+public interface TeamStatsService {
+
+    /**
+     * Applies the goals of a score update to the stats of both playing teams.
+     *
+     * @param game                  The game with updated scores.
+     * @param previousHomeTeamScore The home team score before the update.
+     * @param previousAwayTeamScore The away team score before the update.
+     */
+    void applyScoreChange(@NonNull Game game, int previousHomeTeamScore, int previousAwayTeamScore);
+
+    /**
+     * Applies the final score and the result of a finished game to the stats of both playing teams.
+     *
+     * @param game                  The finished game with final scores.
+     * @param previousHomeTeamScore The home team score before the game was finished.
+     * @param previousAwayTeamScore The away team score before the game was finished.
+     */
+    void applyFinishedGame(@NonNull Game game, int previousHomeTeamScore, int previousAwayTeamScore);
+
+    /**
+     * Retrieves the stats of a team in constant time.
+     *
+     * @param team The team to retrieve stats for.
+     * @return An optional containing a snapshot of team stats, or an empty optional if the team has no score changes.
+     */
+    Optional<TeamStats> getTeamStats(@NonNull Team team);
+
+    /**
+     * Retrieves the league table ranked by points, goal difference, goals scored and team country of origin.
+     *
+     * @return A ranked list of team stats snapshots.
+     */
+    List<TeamStats> getLeagueTable();
+}
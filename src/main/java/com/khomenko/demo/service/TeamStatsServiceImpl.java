@@ -0,0 +1,118 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.domain.TeamStats;
+import lombok.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+
+/**
+ * An implementation of the TeamStatsService interface that keeps team aggregates in-memory.
+ * Aggregates are updated incrementally on each score change and are never recomputed from the games.
+ */
+
+@Service
+public class TeamStatsServiceImpl implements TeamStatsService {
+
+    private static final int POINTS_FOR_WIN = 3;
+
+    private static final int POINTS_FOR_DRAW = 1;
+
+    private static final Comparator<TeamStats> LEAGUE_TABLE_ORDER = Comparator.comparingInt(TeamStats::getPoints).reversed()
+            .thenComparing(Comparator.comparingInt(TeamStats::getGoalDifference).reversed())
+            .thenComparing(Comparator.comparingInt(TeamStats::getGoalsFor).reversed())
+            .thenComparing(stats -> stats.getTeam().getCountryOfOrigin(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * A HashMap to look up team stats in constant time.
+     */
+    private final Map<Team, TeamStats> statsByTeam = new HashMap<>();
+
+    /**
+     * Team stats kept sorted in league table order. Stats are removed before and re-added after each change.
+     */
+    private final NavigableSet<TeamStats> leagueTable = new TreeSet<>(LEAGUE_TABLE_ORDER);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void applyScoreChange(@NonNull Game game, int previousHomeTeamScore, int previousAwayTeamScore) {
+        int homeGoals = game.getHomeTeamScore() - previousHomeTeamScore;
+        int awayGoals = game.getAwayTeamScore() - previousAwayTeamScore;
+        if (homeGoals == 0 && awayGoals == 0)
+            return;
+
+        update(game.getHomeTeam(), stats -> addGoals(stats, homeGoals, awayGoals));
+        update(game.getAwayTeam(), stats -> addGoals(stats, awayGoals, homeGoals));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void applyFinishedGame(@NonNull Game game, int previousHomeTeamScore, int previousAwayTeamScore) {
+        int homeTeamScore = game.getHomeTeamScore();
+        int awayTeamScore = game.getAwayTeamScore();
+        int homeGoals = homeTeamScore - previousHomeTeamScore;
+        int awayGoals = awayTeamScore - previousAwayTeamScore;
+
+        update(game.getHomeTeam(), stats -> {
+            addGoals(stats, homeGoals, awayGoals);
+            addResult(stats, homeTeamScore, awayTeamScore);
+        });
+        update(game.getAwayTeam(), stats -> {
+            addGoals(stats, awayGoals, homeGoals);
+            addResult(stats, awayTeamScore, homeTeamScore);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Optional<TeamStats> getTeamStats(@NonNull Team team) {
+        return Optional.ofNullable(statsByTeam.get(team)).map(stats -> stats.toBuilder().build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<TeamStats> getLeagueTable() {
+        List<TeamStats> table = new ArrayList<>(leagueTable.size());
+        leagueTable.forEach(stats -> table.add(stats.toBuilder().build()));
+        return table;
+    }
+
+    private void update(Team team, Consumer<TeamStats> change) {
+        TeamStats stats = statsByTeam.computeIfAbsent(team, statsTeam -> TeamStats.builder().team(statsTeam).build());
+
+        leagueTable.remove(stats);
+        change.accept(stats);
+        leagueTable.add(stats);
+    }
+
+    private static void addGoals(TeamStats stats, int goalsFor, int goalsAgainst) {
+        stats.setGoalsFor(stats.getGoalsFor() + goalsFor);
+        stats.setGoalsAgainst(stats.getGoalsAgainst() + goalsAgainst);
+    }
+
+    private static void addResult(TeamStats stats, int teamScore, int opponentScore) {
+        stats.setGamesPlayed(stats.getGamesPlayed() + 1);
+
+        if (teamScore > opponentScore) {
+            stats.setWins(stats.getWins() + 1);
+            stats.setPoints(stats.getPoints() + POINTS_FOR_WIN);
+        } else if (teamScore == opponentScore) {
+            stats.setDraws(stats.getDraws() + 1);
+            stats.setPoints(stats.getPoints() + POINTS_FOR_DRAW);
+        } else {
+            stats.setLosses(stats.getLosses() + 1);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.khomenko.demo.utils.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/**
+ * A thread-safe in-memory cache bounded by size, evicting the least recently used entries.
+ * <p>
+ * Values are loaded outside the lock. Each load registers a token for its key; invalidating the key drops the token,
+ * and a loaded value is cached only if its token is still registered. A concurrent mutation never leaves a stale entry
+ * behind, while invalidations of other keys do not discard the load.
+ *
+ * @param <K> The type of keys.
+ * @param <V> The type of cached values.
+ */
+public class BoundedCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    /**
+     * Token of the latest load of each key in flight, removed when the load completes or the key is invalidated.
+     */
+    private final Map<K, Object> loadTokens = new HashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    /**
+     * Constructs a new BoundedCache holding at most the given number of entries.
+     *
+     * @param maxSize The maximal number of cached entries.
+     */
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException(String.format("Cache size must be positive: %s.", maxSize));
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= maxSize)
+                    return false;
+
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value of the key, loading and caching it on a miss.
+     *
+     * @param key    The key to look up.
+     * @param loader The supplier loading the value on a miss.
+     * @return The cached or loaded value.
+     */
+    public V get(K key, Supplier<V> loader) {
+        Object loadToken = new Object();
+        synchronized (this) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            misses++;
+            loadTokens.put(key, loadToken);
+        }
+
+        V value = null;
+        try {
+            value = loader.get();
+            return value;
+        } finally {
+            synchronized (this) {
+                if (loadTokens.get(key) == loadToken) {
+                    loadTokens.remove(key);
+                    if (value != null)
+                        entries.put(key, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the cached value of the key and discards loads of the key in flight.
+     *
+     * @param key The key to invalidate.
+     */
+    public synchronized void invalidate(K key) {
+        loadTokens.remove(key);
+        entries.remove(key);
+    }
+
+    /**
+     * Returns a snapshot of cache usage counters.
+     *
+     * @return The cache stats.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, entries.size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.khomenko.demo.utils.cache;
+
+import lombok.Value;
+
+
+/**
+ * CacheStats is an immutable snapshot of cache usage counters
+ *
+ * @param hits      number of lookups served from the cache
+ * @param misses    number of lookups that loaded the value
+ * @param evictions number of entries evicted by size
+ * @param size      number of entries currently cached
+ */
+
+@Value
+public class CacheStats {
+    long hits;
+
+    long misses;
+
+    long evictions;
+
+    int size;
+
+    /**
+     * Calculates the ratio of lookups served from the cache.
+     *
+     * @return The hit ratio in range 0 - 1, or 0 if there were no lookups.
+     */
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,110 @@
+package com.khomenko.demo.utils.codec;
+
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.service.ScoreboardRanking;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Encodes the scoreboard summary into a compact binary format, writing ranked games directly into the output bytes.
+ * <p>
+ * Layout, all integers are unsigned LEB128 varints unless stated otherwise:
+ * <pre>
+ * header:  magic "SB" (2 bytes), format version (1 byte), flags (1 byte, bit 0 - delta),
+ *          scoreboard version, since version, game count
+ * game:    home team ref, away team ref, home score, away score,
+ *          start epoch milliseconds (UTC), end offset milliseconds from start + 1 (0 - not finished)
+ * team ref: (team id &lt;&lt; 1 | 1) followed by UTF-8 name length and bytes on first use in the payload,
+ *           (team id &lt;&lt; 1) afterwards
+ * </pre>
+ * Team ids are assigned in order of first use and scoped to one payload, so every payload carries the names it refers
+ * to and the encoder keeps no state between requests.
+ * A delta payload contains only games changed after the since version, in rank order.
+ */
+
+@Component
+public class ScoreboardBinaryEncoder {
+
+    public static final String MEDIA_TYPE = "application/x-scoreboard";
+
+    private static final byte[] MAGIC = {'S', 'B'};
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int FLAG_DELTA = 1;
+
+    /**
+     * Bytes reserved per game up front, enough for scores, times and team refs of short names.
+     */
+    private static final int ESTIMATED_GAME_SIZE = 24;
+
+    /**
+     * Encodes the ranking snapshot, as a delta when the since version is positive.
+     * The game count and the games are both taken from the snapshot, so they always agree.
+     *
+     * @param snapshot     The ranked games changed after the since version, and the version they were read at.
+     * @param sinceVersion The version the client already has, or 0 for the full summary.
+     * @return The encoded bytes.
+     */
+    public byte[] encode(ScoreboardRanking.Snapshot snapshot, long sinceVersion) {
+        List<ScoreboardRanking.RankEntry> entries = snapshot.entries();
+        boolean delta = sinceVersion > 0;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + entries.size() * ESTIMATED_GAME_SIZE);
+        out.writeBytes(MAGIC);
+        out.write(FORMAT_VERSION);
+        out.write(delta ? FLAG_DELTA : 0);
+        writeVarLong(out, snapshot.version());
+        writeVarLong(out, Math.max(0, sinceVersion));
+        writeVarLong(out, entries.size());
+
+        // Payload-local team ids, a team's name is written with its first reference only.
+        Map<Team, Integer> teamIds = new HashMap<>();
+        for (ScoreboardRanking.RankEntry entry : entries) {
+            writeTeam(out, entry.key().getHomeTeam(), teamIds);
+            writeTeam(out, entry.key().getAwayTeam(), teamIds);
+            writeVarLong(out, entry.homeTeamScore());
+            writeVarLong(out, entry.awayTeamScore());
+
+            long startMillis = toEpochMillis(entry.startGameTime());
+            writeVarLong(out, startMillis);
+            writeVarLong(out, entry.endGameTime() == null ? 0 : Math.max(0, toEpochMillis(entry.endGameTime()) - startMillis) + 1);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeTeam(ByteArrayOutputStream out, Team team, Map<Team, Integer> teamIds) {
+        Integer writtenTeamId = teamIds.get(team);
+        if (writtenTeamId != null) {
+            writeVarLong(out, (long) writtenTeamId << 1);
+            return;
+        }
+
+        int teamId = teamIds.size();
+        teamIds.put(team, teamId);
+        writeVarLong(out, ((long) teamId << 1) | 1);
+        byte[] name = team.getCountryOfOrigin() == null ? new byte[0] : team.getCountryOfOrigin().getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, name.length);
+        out.writeBytes(name);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
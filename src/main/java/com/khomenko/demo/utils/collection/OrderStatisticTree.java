@@ -0,0 +1,250 @@
+package com.khomenko.demo.utils.collection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+
+/**
+ * A sorted set with positional access, implemented as a treap whose nodes keep their subtree sizes.
+ * Insertion, removal, rank lookup and access by index cost O(log n) expected, range access O(log n + k).
+ * <p>
+ * Elements must be totally ordered by the comparator and must not change their order while in the tree.
+ * This class is not thread-safe.
+ *
+ * @param <T> The type of elements.
+ */
+public class OrderStatisticTree<T> {
+
+    private final Comparator<? super T> comparator;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node<T> root;
+
+    /**
+     * Constructs a new empty OrderStatisticTree ordered by the comparator.
+     *
+     * @param comparator The total order of elements.
+     */
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds the element if the tree does not contain an equal one.
+     *
+     * @param element The element to add.
+     * @return True if the element was added, false if an equal element is present.
+     */
+    public boolean add(T element) {
+        if (rank(element) >= 0)
+            return false;
+
+        root = insert(root, new Node<>(element, random.nextInt()));
+        return true;
+    }
+
+    /**
+     * Removes the element equal to the given one.
+     *
+     * @param element The element to remove.
+     * @return True if the element was removed, false if it is not present.
+     */
+    public boolean remove(T element) {
+        if (rank(element) < 0)
+            return false;
+
+        root = delete(root, element);
+        return true;
+    }
+
+    /**
+     * Returns the zero-based position of the element in sorted order.
+     *
+     * @param element The element to look up.
+     * @return The position of the element, or -1 if it is not present.
+     */
+    public int rank(T element) {
+        int position = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(element, node.element);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                position += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return position + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the element at the zero-based position in sorted order.
+     *
+     * @param index The position of the element.
+     * @return The element at the position.
+     * @throws IndexOutOfBoundsException If the position is outside of the tree.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException(String.format("Index: %s, size: %s.", index, size()));
+
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    /**
+     * Returns elements in the range of zero-based positions in sorted order.
+     *
+     * @param fromIndex The first position, inclusive.
+     * @param toIndex   The last position, exclusive. Clamped to the size of the tree.
+     * @return A list of elements in the range.
+     */
+    public List<T> range(int fromIndex, int toIndex) {
+        List<T> elements = new ArrayList<>(Math.max(0, Math.min(toIndex, size()) - Math.max(fromIndex, 0)));
+        collect(root, 0, Math.max(fromIndex, 0), toIndex, elements);
+        return elements;
+    }
+
+    /**
+     * Performs the action for each element in sorted order, without copying the elements.
+     *
+     * @param action The action to perform.
+     */
+    public void forEach(Consumer<? super T> action) {
+        visit(root, action);
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Removes all elements from the tree.
+     */
+    public void clear() {
+        root = null;
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> inserted) {
+        if (node == null)
+            return inserted;
+
+        if (comparator.compare(inserted.element, node.element) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority)
+                node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority)
+                node = rotateLeft(node);
+        }
+        return update(node);
+    }
+
+    private Node<T> delete(Node<T> node, T element) {
+        int comparison = comparator.compare(element, node.element);
+        if (comparison < 0) {
+            node.left = delete(node.left, element);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, element);
+        } else {
+            if (node.left == null)
+                return node.right;
+            if (node.right == null)
+                return node.left;
+
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, element);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, element);
+            }
+        }
+        return update(node);
+    }
+
+    private void collect(Node<T> node, int offset, int fromIndex, int toIndex, List<T> elements) {
+        if (node == null)
+            return;
+
+        int index = offset + size(node.left);
+        if (fromIndex < index)
+            collect(node.left, offset, fromIndex, toIndex, elements);
+        if (fromIndex <= index && index < toIndex)
+            elements.add(node.element);
+        if (index + 1 < toIndex)
+            collect(node.right, index + 1, fromIndex, toIndex, elements);
+    }
+
+    private void visit(Node<T> node, Consumer<? super T> action) {
+        if (node == null)
+            return;
+
+        visit(node.left, action);
+        action.accept(node.element);
+        visit(node.right, action);
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private static <T> Node<T> update(Node<T> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        private final T element;
+
+        private final int priority;
+
+        private int size = 1;
+
+        private Node<T> left;
+
+        private Node<T> right;
+
+        private Node(T element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+}
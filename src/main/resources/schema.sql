@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS game
+(
+    home_team       VARCHAR(255) NOT NULL,
+    away_team       VARCHAR(255) NOT NULL,
+    home_team_score INT          NOT NULL,
+    away_team_score INT          NOT NULL,
+    start_game_time TIMESTAMP,
+    end_game_time   TIMESTAMP,
+    PRIMARY KEY (home_team, away_team)
+);
@@ -0,0 +1,54 @@
+package com.khomenko.demo;
+
+import com.khomenko.demo.config.StartupTimingFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the fast-start profile and records time-to-first-request, measured from the JVM start, to
+ * target/startup-time.properties, so the value is tracked with every build. Runs in its own surefire execution and JVM,
+ * with the AOT test context and a class-data-sharing archive in the fast-start Maven profile, and fails the build when
+ * the value exceeds the startup.time.budget.ms system property.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("fast-start")
+class FastStartupTests {
+
+	private static final long DEFAULT_BUDGET_MILLIS = 10_000;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private StartupTimingFilter startupTimingFilter;
+
+	@Test
+	void firstScoreboardReadIsTimed() throws IOException {
+		ResponseEntity<String> response = restTemplate.exchange(
+				RequestEntity.get("/scoreboard/summary").accept(MediaType.APPLICATION_JSON).build(), String.class);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		long timeToFirstRequestMillis = startupTimingFilter.getTimeToFirstRequestMillis();
+		long budgetMillis = Long.getLong("startup.time.budget.ms", DEFAULT_BUDGET_MILLIS);
+		assertTrue(timeToFirstRequestMillis > 0);
+
+		Files.writeString(Path.of("target", "startup-time.properties"),
+				String.format("time-to-first-request-ms=%d%nbudget-ms=%d%n", timeToFirstRequestMillis, budgetMillis));
+		assertTrue(timeToFirstRequestMillis <= budgetMillis,
+				String.format("Time to first request %d ms exceeds the budget of %d ms.", timeToFirstRequestMillis, budgetMillis));
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.khomenko.demo.benchmark;
+
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.repository.GameRepository;
+import com.khomenko.demo.repository.GameRepositoryImpl;
+import com.khomenko.demo.repository.OffHeapGameRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * JMH benchmark of heap footprint and allocation of the repository with a large history of finished games.
+ * Each operation runs the repository calls of startGame(), updateScore() and finishGame() for a game of fresh teams.
+ * Heap used after loading the history is printed by the setup, allocation and GC per operation by the GC profiler.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=RepositoryHistoryBenchmark -Dbenchmark.args="-prof gc"
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:+UseG1GC"})
+public class RepositoryHistoryBenchmark {
+
+    /**
+     * Teams of the history play each other once, as in a league.
+     */
+    private static final int HISTORY_TEAMS = 1000;
+
+    @Param({"in-memory", "off-heap"})
+    private String repositoryType;
+
+    @Param({"1000000"})
+    private int historySize;
+
+    private GameRepository gameRepository;
+
+    private LocalDateTime now;
+
+    private int fixture;
+
+    @Setup
+    public void setUp() {
+        ScoreboardRepositoryProperties repositoryProperties = new ScoreboardRepositoryProperties();
+        repositoryProperties.setOffHeapInitialCapacity(historySize);
+        gameRepository = "off-heap".equals(repositoryType) ? new OffHeapGameRepository(repositoryProperties) : new GameRepositoryImpl();
+
+        now = LocalDateTime.now();
+        for (int i = 0; i < historySize; i++) {
+            gameRepository.save(Game.builder()
+                    .homeTeam(Team.builder().countryOfOrigin("Home " + i % HISTORY_TEAMS).build())
+                    .awayTeam(Team.builder().countryOfOrigin("Away " + i / HISTORY_TEAMS).build())
+                    .homeTeamScore(i % 5)
+                    .awayTeamScore(i % 3)
+                    .startGameTime(now.minusSeconds(i + 7200L))
+                    .endGameTime(now.minusSeconds(i))
+                    .build());
+        }
+
+        System.gc();
+        System.out.printf("%nHeap used after loading %s finished games: %s MB%n", historySize,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20);
+    }
+
+    @Benchmark
+    public Game startUpdateFinish() {
+        Team homeTeam = Team.builder().countryOfOrigin("Fixture home " + fixture).build();
+        Team awayTeam = Team.builder().countryOfOrigin("Fixture away " + fixture++).build();
+        Game game = gameRepository.save(Game.builder().homeTeam(homeTeam).awayTeam(awayTeam).build());
+
+        if (gameRepository.hasActiveGame(homeTeam) || gameRepository.hasActiveGame(awayTeam))
+            throw new IllegalStateException("Fixture teams have an active game");
+
+        Game savedGame = gameRepository.findGame(game).orElseThrow();
+        savedGame.setStartGameTime(now);
+        gameRepository.save(savedGame);
+
+        savedGame = gameRepository.findGame(game).orElseThrow();
+        savedGame.setHomeTeamScore(1);
+        gameRepository.save(savedGame);
+
+        savedGame = gameRepository.findGame(game).orElseThrow();
+        savedGame.setEndGameTime(now.plusHours(2));
+        return gameRepository.save(savedGame);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RepositoryHistoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
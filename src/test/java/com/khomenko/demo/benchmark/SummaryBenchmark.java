@@ -0,0 +1,87 @@
+package com.khomenko.demo.benchmark;
+
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.config.ScoreboardSummaryProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.repository.GameRepositoryImpl;
+import com.khomenko.demo.service.GameServiceImpl;
+import com.khomenko.demo.service.ScoreboardRanking;
+import com.khomenko.demo.service.ScoreboardVersionTracker;
+import com.khomenko.demo.service.TeamStatsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * JMH benchmark of sequential versus parallel summary evaluation, used to find the parallel threshold crossover.
+ * Parallelism 1 is the sequential evaluation, larger values evaluate on a dedicated pool of that many workers.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=SummaryBenchmark
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummaryBenchmark {
+
+    @Param({"1000", "5000", "10000", "50000", "100000", "500000"})
+    private int gameCount;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    private GameServiceImpl gameService;
+
+    @Setup
+    public void setUp() {
+        ScoreboardSummaryProperties summaryProperties = new ScoreboardSummaryProperties();
+        summaryProperties.setParallelThreshold(0);
+        summaryProperties.setParallelism(parallelism);
+
+        GameRepositoryImpl gameRepository = new GameRepositoryImpl();
+        Random random = new Random(gameCount);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < gameCount; i++) {
+            // Every tenth game is a fixture that has not started yet.
+            gameRepository.save(Game.builder()
+                    .homeTeam(Team.builder().countryOfOrigin("Home " + i).build())
+                    .awayTeam(Team.builder().countryOfOrigin("Away " + i).build())
+                    .homeTeamScore(random.nextInt(6))
+                    .awayTeamScore(random.nextInt(6))
+                    .startGameTime(i % 10 == 0 ? null : now.minusSeconds(random.nextInt(1_000_000)))
+                    .build());
+        }
+
+        gameService = new GameServiceImpl(gameRepository, new TeamStatsServiceImpl(), summaryProperties,
+                new ScoreboardRanking(event -> {
+                }, new ScoreboardVersionTracker(), new ScoreboardRepositoryProperties()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameService.shutdown();
+    }
+
+    @Benchmark
+    public List<Game> getSummaryOfAllGames() {
+        return gameService.getSummaryOfAllGames();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SummaryBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
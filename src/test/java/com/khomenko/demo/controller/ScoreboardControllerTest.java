@@ -0,0 +1,132 @@
+package com.khomenko.demo.controller;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.repository.GameRepository;
+import com.khomenko.demo.service.GameService;
+import com.khomenko.demo.service.GameServiceImpl;
+import com.khomenko.demo.service.ScoreboardRanking;
+import com.khomenko.demo.utils.codec.ScoreboardBinaryEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScoreboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameServiceImpl gameServiceImpl;
+
+    @Autowired
+    private ScoreboardRanking scoreboardRanking;
+
+    @Test
+    public void jsonSummaryIsServedForJsonAccept() throws Exception {
+        // Arrange
+        gameService.startGame(gameRepository.save(newGame("Json Home", "Json Away")));
+
+        // Act and Assert
+        mockMvc.perform(get("/scoreboard/summary").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[?(@.homeTeam.countryOfOrigin == 'Json Home')].awayTeam.countryOfOrigin").value("Json Away"));
+    }
+
+    @Test
+    public void binarySummaryIsServedForBinaryAccept() throws Exception {
+        // Arrange
+        gameService.startGame(gameRepository.save(newGame("Binary Home", "Binary Away")));
+        ScoreboardRanking.Snapshot snapshot = scoreboardRanking.snapshot(0);
+
+        // Act
+        ByteBuffer payload = ByteBuffer.wrap(mockMvc.perform(get("/scoreboard/summary").accept(ScoreboardBinaryEncoder.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ScoreboardBinaryEncoder.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray());
+
+        // Assert
+        assertEquals('S', payload.get());
+        assertEquals('B', payload.get());
+        assertEquals(2, payload.get());
+        assertEquals(0, payload.get());
+        assertEquals(snapshot.version(), readVarLong(payload));
+        assertEquals(0, readVarLong(payload));
+        assertEquals(snapshot.entries().size(), readVarLong(payload));
+    }
+
+    @Test
+    public void binaryDeltaContainsGameStartedBehindStaleSummaryCache() throws Exception {
+        // Arrange
+        gameService.startGame(gameRepository.save(newGame("Cached Home", "Cached Away")));
+        mockMvc.perform(get("/scoreboard/summary").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+        long sinceVersion = scoreboardRanking.snapshot(0).version();
+
+        // Started through GameServiceImpl, the version is advanced while the cached summary is not yet invalidated.
+        gameServiceImpl.startGame(gameRepository.save(newGame("Delta Home", "Delta Away")));
+
+        // Act
+        ByteBuffer payload = ByteBuffer.wrap(mockMvc.perform(get("/scoreboard/summary")
+                        .param("sinceVersion", String.valueOf(sinceVersion))
+                        .accept(ScoreboardBinaryEncoder.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        // Assert
+        mockMvc.perform(get("/scoreboard/summary").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[?(@.homeTeam.countryOfOrigin == 'Delta Home')]").isEmpty());
+
+        payload.position(3);
+        assertEquals(1, payload.get());
+        assertEquals(sinceVersion + 1, readVarLong(payload));
+        assertEquals(sinceVersion, readVarLong(payload));
+        assertEquals(1, readVarLong(payload));
+        assertEquals("Delta Home", readNewTeam(payload));
+        assertEquals("Delta Away", readNewTeam(payload));
+    }
+
+    private static Game newGame(String homeTeam, String awayTeam) {
+        return Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(homeTeam).build())
+                .awayTeam(Team.builder().countryOfOrigin(awayTeam).build())
+                .build();
+    }
+
+    private static String readNewTeam(ByteBuffer payload) {
+        assertEquals(1, readVarLong(payload) & 1);
+        byte[] name = new byte[(int) readVarLong(payload)];
+        payload.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(ByteBuffer payload) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = payload.get();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
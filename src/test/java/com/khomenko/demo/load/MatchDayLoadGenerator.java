@@ -0,0 +1,270 @@
+package com.khomenko.demo.load;
+
+import com.khomenko.demo.DemoApplication;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.repository.GameRepository;
+import com.khomenko.demo.service.GameService;
+import com.khomenko.demo.utils.exception.CustomBusinessException;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Load generator simulating a live match day against a running application context.
+ * <p>
+ * Creates fixtures, then drives a mix of startGame, goal-rate updateScore, finishGame and summary reads from many
+ * threads. Reports latency percentiles (HdrHistogram), throughput over the measured elapsed time, rejected operations
+ * and stop-the-world GC pauses.
+ * <p>
+ * Run with: mvn -Pload-test test-compile exec:java
+ * <p>
+ * Settings are read from system properties:
+ * load.fixtures (default 1000), load.threads (16), load.warmupSeconds (10), load.durationSeconds (60),
+ * load.readRatio (0.8), load.goalProbability (0.9). A live game is finished when a mutation does not score a goal.
+ * <p>
+ * A finished fixture is replaced by a new game of fresh teams, so finished games stay on the board as in production
+ * and the summary grows during the run.
+ */
+public class MatchDayLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final String START_GAME = "startGame";
+
+    private static final String UPDATE_SCORE = "updateScore";
+
+    private static final String FINISH_GAME = "finishGame";
+
+    private static final String SUMMARY = "getSummaryOfAllGames";
+
+    private static final String GET_GAME = "getGame";
+
+    private static final String CONCURRENT_GC_ACTION = "end of GC cycle";
+
+    private final int fixtureCount = Integer.getInteger("load.fixtures", 1000);
+
+    private final int threadCount = Integer.getInteger("load.threads", 16);
+
+    private final int warmupSeconds = Integer.getInteger("load.warmupSeconds", 10);
+
+    private final int durationSeconds = Integer.getInteger("load.durationSeconds", 60);
+
+    private final double readRatio = Double.parseDouble(System.getProperty("load.readRatio", "0.8"));
+
+    private final double goalProbability = Double.parseDouble(System.getProperty("load.goalProbability", "0.9"));
+
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+
+    private final Histogram gcPauses = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+
+    private final AtomicLong rejections = new AtomicLong();
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile boolean measuring;
+
+    private final GameService gameService;
+
+    private final GameRepository gameRepository;
+
+    /**
+     * Current game of each fixture slot, published to reader threads after it is saved.
+     */
+    private final AtomicReferenceArray<Game> fixtures;
+
+    /**
+     * Number of games played in each fixture slot. Only written by the worker owning the slot.
+     */
+    private final int[] fixtureGenerations;
+
+    public MatchDayLoadGenerator(GameService gameService, GameRepository gameRepository) {
+        this.gameService = gameService;
+        this.gameRepository = gameRepository;
+        this.fixtures = new AtomicReferenceArray<>(fixtureCount);
+        this.fixtureGenerations = new int[fixtureCount];
+
+        for (String operation : List.of(START_GAME, UPDATE_SCORE, FINISH_GAME, SUMMARY, GET_GAME))
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS));
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            new MatchDayLoadGenerator(context.getBean(GameService.class), context.getBean(GameRepository.class)).run();
+        }
+    }
+
+    public void run() throws InterruptedException {
+        for (int i = 0; i < fixtureCount; i++)
+            createFixture(i);
+        listenToGcPauses();
+
+        System.out.printf("Match day load: %d fixtures, %d threads, %ds warm-up, %ds measurement, read ratio %.2f%n",
+                fixtureCount, threadCount, warmupSeconds, durationSeconds, readRatio);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + durationSeconds);
+        for (int worker = 0; worker < threadCount; worker++) {
+            int workerIndex = worker;
+            executor.execute(() -> drive(workerIndex, deadline));
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        latencies.values().forEach(Histogram::reset);
+        gcPauses.reset();
+        rejections.set(0);
+        errors.set(0);
+        measuring = true;
+        long measurementStart = System.nanoTime();
+
+        executor.shutdown();
+        executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        measuring = false;
+
+        report((System.nanoTime() - measurementStart) / 1e9);
+    }
+
+    /**
+     * Fixtures are partitioned by worker for mutations, so each game sees a valid start, update and finish sequence.
+     * Reads are not partitioned.
+     */
+    private void drive(int workerIndex, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int ownedFixtures = (fixtureCount - workerIndex + threadCount - 1) / threadCount;
+        if (ownedFixtures <= 0)
+            return;
+
+        while (System.nanoTime() < deadline) {
+            try {
+                if (random.nextDouble() < readRatio) {
+                    if (random.nextBoolean())
+                        measure(SUMMARY, gameService::getSummaryOfAllGames);
+                    else
+                        measure(GET_GAME, () -> gameService.getGame(fixtures.get(random.nextInt(fixtureCount))));
+                } else {
+                    mutate(workerIndex + random.nextInt(ownedFixtures) * threadCount, random);
+                }
+            } catch (CustomBusinessException e) {
+                rejections.incrementAndGet();
+            } catch (RuntimeException e) {
+                if (errors.getAndIncrement() == 0)
+                    e.printStackTrace();
+            }
+        }
+    }
+
+    private void mutate(int fixtureIndex, ThreadLocalRandom random) {
+        Game fixture = fixtures.get(fixtureIndex);
+        // State is read from the repository, so bookkeeping of the generator does not count as service cache traffic.
+        Game game = gameRepository.findGame(fixture).orElseThrow();
+
+        if (game.getStartGameTime() == null) {
+            measure(START_GAME, () -> gameService.startGame(fixture));
+        } else if (game.getEndGameTime() != null) {
+            fixtureGenerations[fixtureIndex]++;
+            createFixture(fixtureIndex);
+        } else if (random.nextDouble() < goalProbability) {
+            boolean homeTeamScored = random.nextBoolean();
+            Game update = Game.builder()
+                    .homeTeam(fixture.getHomeTeam())
+                    .awayTeam(fixture.getAwayTeam())
+                    .homeTeamScore(game.getHomeTeamScore() + (homeTeamScored ? 1 : 0))
+                    .awayTeamScore(game.getAwayTeamScore() + (homeTeamScored ? 0 : 1))
+                    .build();
+            measure(UPDATE_SCORE, () -> gameService.updateScore(update));
+        } else {
+            Game finish = Game.builder()
+                    .homeTeam(fixture.getHomeTeam())
+                    .awayTeam(fixture.getAwayTeam())
+                    .homeTeamScore(game.getHomeTeamScore())
+                    .awayTeamScore(game.getAwayTeamScore())
+                    .endGameTime(LocalDateTime.now())
+                    .build();
+            measure(FINISH_GAME, () -> gameService.finishGame(finish));
+        }
+    }
+
+    /**
+     * Creates a new not started game in the fixture slot. Teams are suffixed with the slot generation, so the game is
+     * unknown to the service, its caches, ranking and team stats, and the match day can run indefinitely without
+     * overwriting state the service already holds.
+     */
+    private void createFixture(int fixtureIndex) {
+        int generation = fixtureGenerations[fixtureIndex];
+        Game fixture = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin("Home " + fixtureIndex + "#" + generation).build())
+                .awayTeam(Team.builder().countryOfOrigin("Away " + fixtureIndex + "#" + generation).build())
+                .build();
+        gameRepository.save(Game.builder()
+                .homeTeam(fixture.getHomeTeam())
+                .awayTeam(fixture.getAwayTeam())
+                .build());
+        fixtures.set(fixtureIndex, fixture);
+    }
+
+    private void measure(String operation, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        latencies.get(operation).recordValue(Math.min(System.nanoTime() - start, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    /**
+     * Records stop-the-world collections only. Concurrent cycles of ZGC and Shenandoah end with the "end of GC cycle"
+     * action and run alongside the application, so their duration is not a pause; their pauses are reported apart.
+     */
+    private void listenToGcPauses() {
+        NotificationListener listener = (notification, handback) -> {
+            if (!measuring || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+                return;
+
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (CONCURRENT_GC_ACTION.equals(info.getGcAction()))
+                return;
+
+            gcPauses.recordValue(Math.min(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()), HIGHEST_TRACKABLE_NANOS));
+        };
+
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans())
+            ((NotificationEmitter) gcBean).addNotificationListener(listener, null, null);
+    }
+
+    private void report(double elapsedSeconds) {
+        System.out.printf("%nMeasured for %.1fs%n", elapsedSeconds);
+        System.out.printf("%n%-22s %12s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "ops/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+        latencies.forEach((operation, histogram) -> printHistogram(operation, histogram, elapsedSeconds));
+        printHistogram("gc pause", gcPauses, elapsedSeconds);
+        System.out.printf("%nRejected operations: %d, failed operations: %d%n", rejections.get(), errors.get());
+    }
+
+    private static void printHistogram(String name, Histogram histogram, double elapsedSeconds) {
+        System.out.printf("%-22s %12d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
@@ -0,0 +1,180 @@
+package com.khomenko.demo.repository;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRepositoryImplTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+    private static final String TEAM_C = "Team C";
+    private static final String TEAM_D = "Team D";
+    private static final LocalDateTime BEFORE_START_GAME_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 13, 33, 48);
+    private static final LocalDateTime GAME_START_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 14, 33, 48);
+    private static final LocalDateTime GAME_END_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 15, 33, 48);
+    private static final LocalDateTime AFTER_END_GAME_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 16, 33, 48);
+
+    private GameRepositoryImpl gameRepository;
+
+    @BeforeEach
+    public void setUp() {
+        gameRepository = new GameRepositoryImpl();
+    }
+
+    @Test
+    public void savedGameIsFoundByPlayingTeams() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+
+        Game gameToFind = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .homeTeamScore(1)
+                .build();
+
+        // Act and Assert
+        assertSame(game, gameRepository.findGame(gameToFind).orElseThrow());
+    }
+
+    @Test
+    public void mutatedGameIsStoredOnce() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        game.setStartGameTime(GAME_START_TIME);
+        game.setHomeTeamScore(1);
+        gameRepository.save(game);
+
+        // Assert
+        assertEquals(List.of(game), gameRepository.findAll());
+    }
+
+    @Test
+    public void startTimeIndexFollowsGameUpdates() {
+        // Arrange
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .startGameTime(BEFORE_START_GAME_TIME)
+                .build();
+        gameRepository.save(game1);
+        gameRepository.save(game2);
+
+        // Act and Assert
+        assertEquals(List.of(game2, game1), gameRepository.findAllByStartGameTimeBetween(BEFORE_START_GAME_TIME, GAME_END_TIME));
+        assertEquals(List.of(game2), gameRepository.findAllByStartGameTimeBetween(BEFORE_START_GAME_TIME, GAME_START_TIME));
+
+        game2.setStartGameTime(AFTER_END_GAME_TIME);
+        gameRepository.save(game2);
+
+        assertEquals(List.of(game1), gameRepository.findAllByStartGameTimeBetween(BEFORE_START_GAME_TIME, GAME_END_TIME));
+    }
+
+    @Test
+    public void finishedGameLeavesActiveIndex() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+        gameRepository.save(game);
+
+        assertEquals(List.of(game), gameRepository.findAllActiveStartedBefore(GAME_END_TIME));
+        assertTrue(gameRepository.findAllByEndGameTimeBetween(GAME_START_TIME, AFTER_END_GAME_TIME).isEmpty());
+
+        // Act
+        game.setEndGameTime(GAME_END_TIME);
+        gameRepository.save(game);
+
+        // Assert
+        assertTrue(gameRepository.findAllActiveStartedBefore(GAME_END_TIME).isEmpty());
+        assertEquals(List.of(game), gameRepository.findAllByEndGameTimeBetween(GAME_START_TIME, AFTER_END_GAME_TIME));
+    }
+
+    @Test
+    public void deletedGameLeavesAllIndexes() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .endGameTime(GAME_END_TIME)
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        gameRepository.delete(game);
+
+        // Assert
+        assertTrue(gameRepository.findAll().isEmpty());
+        assertTrue(gameRepository.findAllByStartGameTimeBetween(BEFORE_START_GAME_TIME, AFTER_END_GAME_TIME).isEmpty());
+        assertTrue(gameRepository.findAllByEndGameTimeBetween(BEFORE_START_GAME_TIME, AFTER_END_GAME_TIME).isEmpty());
+    }
+
+    @Test
+    public void activeGamesAreCountedPerTeam() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Game game = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+
+        assertFalse(gameRepository.hasActiveGame(teamA));
+        assertTrue(gameRepository.findAllStarted().isEmpty());
+
+        // Act and Assert
+        game.setStartGameTime(GAME_START_TIME);
+        gameRepository.save(game);
+        assertTrue(gameRepository.hasActiveGame(Team.builder().countryOfOrigin(TEAM_A).build()));
+        assertTrue(gameRepository.hasActiveGame(Team.builder().countryOfOrigin(TEAM_B).build()));
+        assertEquals(List.of(game), gameRepository.findAllStarted());
+
+        game.setEndGameTime(GAME_END_TIME);
+        gameRepository.save(game);
+        assertFalse(gameRepository.hasActiveGame(teamA));
+        assertEquals(List.of(game), gameRepository.findAllStarted());
+    }
+
+    @Test
+    public void deletedActiveGameIsNotCounted() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Game game = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        gameRepository.delete(game);
+
+        // Assert
+        assertFalse(gameRepository.hasActiveGame(teamA));
+        assertTrue(gameRepository.findAllStarted().isEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package com.khomenko.demo.repository;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.service.GameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "scoreboard.repository.type=off-heap")
+class OffHeapGameRepositoryContextTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Test
+    public void contextBootsWithOffHeapRepository() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        gameService.startGame(game);
+        gameService.updateScore(Game.builder()
+                .homeTeam(game.getHomeTeam())
+                .awayTeam(game.getAwayTeam())
+                .homeTeamScore(1)
+                .build());
+
+        // Assert
+        assertInstanceOf(OffHeapGameRepository.class, gameRepository);
+        assertEquals(1, gameService.getSummaryOfAllGames().get(0).getHomeTeamScore());
+    }
+}
@@ -0,0 +1,219 @@
+package com.khomenko.demo.repository;
+
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGameRepositoryTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+    private static final String TEAM_C = "Team C";
+    private static final String TEAM_D = "Team D";
+    private static final LocalDateTime BEFORE_START_GAME_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 13, 33, 48);
+    private static final LocalDateTime GAME_START_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 14, 33, 48, 123_456_789);
+    private static final LocalDateTime GAME_END_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 15, 33, 48);
+    private static final int INITIAL_CAPACITY = 1;
+
+    private OffHeapGameRepository gameRepository;
+
+    @BeforeEach
+    public void setUp() {
+        ScoreboardRepositoryProperties repositoryProperties = new ScoreboardRepositoryProperties();
+        repositoryProperties.setOffHeapInitialCapacity(INITIAL_CAPACITY);
+        gameRepository = new OffHeapGameRepository(repositoryProperties);
+    }
+
+    @Test
+    public void savedGameIsMaterializedWithAllFields() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .homeTeamScore(2)
+                .awayTeamScore(1)
+                .startGameTime(GAME_START_TIME)
+                .endGameTime(GAME_END_TIME)
+                .build();
+
+        // Act
+        gameRepository.save(game);
+
+        // Assert
+        Game savedGame = gameRepository.findGame(game).orElseThrow();
+        assertNotSame(game, savedGame);
+        assertEquals(game, savedGame);
+    }
+
+    @Test
+    public void savingExistingGameOverwritesRecord() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        game.setStartGameTime(GAME_START_TIME);
+        game.setHomeTeamScore(1);
+        gameRepository.save(game);
+
+        // Assert
+        assertEquals(List.of(game), gameRepository.findAll());
+    }
+
+    @Test
+    public void recordsGrowBeyondInitialCapacity() {
+        // Arrange
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .homeTeamScore(3)
+                .build();
+
+        // Act
+        gameRepository.save(game1);
+        gameRepository.save(game2);
+
+        // Assert
+        assertEquals(List.of(game1, game2), gameRepository.findAll());
+    }
+
+    @Test
+    public void capacityGrowthIsCappedAtAddressableRecords() {
+        // Act and Assert
+        assertEquals(2 * 40, OffHeapGameRepository.grownCapacity(40));
+        assertEquals(OffHeapGameRepository.MAX_CAPACITY, OffHeapGameRepository.grownCapacity(OffHeapGameRepository.MAX_CAPACITY / 2 + 40));
+        assertThrows(IllegalStateException.class, () -> OffHeapGameRepository.grownCapacity(OffHeapGameRepository.MAX_CAPACITY));
+    }
+
+    @Test
+    public void deleteAllReleasesInternedTeams() {
+        // Arrange
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .build();
+        gameRepository.save(game1);
+
+        // Act
+        gameRepository.deleteAll();
+        gameRepository.save(game2);
+
+        // Assert
+        assertEquals(2, gameRepository.getInternedTeamCount());
+        assertEquals(List.of(game2), gameRepository.findAll());
+        assertTrue(gameRepository.findGame(game1).isEmpty());
+    }
+
+    @Test
+    public void deletedGameIsReplacedByLastRecord() {
+        // Arrange
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .homeTeamScore(3)
+                .build();
+        gameRepository.save(game1);
+        gameRepository.save(game2);
+
+        // Act
+        gameRepository.delete(game1);
+
+        // Assert
+        assertTrue(gameRepository.findGame(game1).isEmpty());
+        assertEquals(game2, gameRepository.findGame(game2).orElseThrow());
+        assertEquals(List.of(game2), gameRepository.findAll());
+    }
+
+    @Test
+    public void timeWindowedQueriesScanRecords() {
+        // Arrange
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .startGameTime(BEFORE_START_GAME_TIME)
+                .endGameTime(GAME_END_TIME)
+                .build();
+        gameRepository.save(game1);
+        gameRepository.save(game2);
+
+        // Act and Assert
+        assertEquals(List.of(game2, game1), gameRepository.findAllByStartGameTimeBetween(BEFORE_START_GAME_TIME, GAME_END_TIME));
+        assertEquals(List.of(game2), gameRepository.findAllByEndGameTimeBetween(GAME_START_TIME, GAME_END_TIME.plusSeconds(1)));
+        assertEquals(List.of(game1), gameRepository.findAllActiveStartedBefore(GAME_END_TIME));
+    }
+
+    @Test
+    public void activeGamesAndStartedGamesAreScannedInPlace() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Game game1 = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .startGameTime(BEFORE_START_GAME_TIME)
+                .endGameTime(GAME_END_TIME)
+                .build();
+        Game game3 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .build();
+        gameRepository.save(game1);
+        gameRepository.save(game2);
+        gameRepository.save(game3);
+
+        // Act and Assert
+        assertTrue(gameRepository.hasActiveGame(teamA));
+        assertTrue(gameRepository.hasActiveGame(Team.builder().countryOfOrigin(TEAM_B).build()));
+        assertFalse(gameRepository.hasActiveGame(Team.builder().countryOfOrigin(TEAM_C).build()));
+        assertFalse(gameRepository.hasActiveGame(Team.builder().countryOfOrigin("Team E").build()));
+        assertEquals(List.of(game1, game2), gameRepository.findAllStarted());
+    }
+
+    @Test
+    public void materializedTeamsAreCopies() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        gameRepository.findGame(game).orElseThrow().getHomeTeam().setCountryOfOrigin(TEAM_C);
+
+        // Assert
+        assertEquals(TEAM_A, gameRepository.findGame(game).orElseThrow().getHomeTeam().getCountryOfOrigin());
+        assertEquals(List.of(game), gameRepository.findAll());
+    }
+}
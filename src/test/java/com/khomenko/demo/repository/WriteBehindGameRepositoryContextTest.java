@@ -0,0 +1,50 @@
+package com.khomenko.demo.repository;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.service.GameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"scoreboard.repository.type=write-behind", "scoreboard.write-behind.flush-interval=1h"})
+class WriteBehindGameRepositoryContextTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void contextBootsWithWriteBehindRepository() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        gameService.startGame(game);
+        gameService.updateScore(Game.builder()
+                .homeTeam(game.getHomeTeam())
+                .awayTeam(game.getAwayTeam())
+                .homeTeamScore(1)
+                .build());
+        assertInstanceOf(WriteBehindGameRepository.class, gameRepository).flush();
+
+        // Assert
+        assertEquals(1, gameService.getSummaryOfAllGames().get(0).getHomeTeamScore());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT home_team_score FROM game WHERE home_team = ? AND away_team = ?",
+                Integer.class, TEAM_A, TEAM_B));
+    }
+}
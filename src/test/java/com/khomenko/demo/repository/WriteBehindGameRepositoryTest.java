@@ -0,0 +1,252 @@
+package com.khomenko.demo.repository;
+
+import com.khomenko.demo.config.ScoreboardWriteBehindProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindGameRepositoryTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+    private static final String TEAM_C = "Team C";
+    private static final String TEAM_D = "Team D";
+    private static final LocalDateTime GAME_START_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 14, 33, 48);
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WriteBehindGameRepository gameRepository;
+
+    /**
+     * Runs before the next JDBC batch, which then fails, to simulate a database outage in the middle of a flush.
+     */
+    private Runnable beforeFailingBatch;
+
+    @BeforeEach
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                Runnable failure = beforeFailingBatch;
+                if (failure == null)
+                    return super.batchUpdate(sql, batchArgs);
+
+                beforeFailingBatch = null;
+                failure.run();
+                throw new DataAccessResourceFailureException("Database is not available");
+            }
+        };
+
+        ScoreboardWriteBehindProperties writeBehindProperties = new ScoreboardWriteBehindProperties();
+        writeBehindProperties.setFlushInterval(Duration.ofHours(1));
+        writeBehindProperties.setMaxBatchSize(1);
+        writeBehindProperties.setMaxAttempts(2);
+        gameRepository = new WriteBehindGameRepository(jdbcTemplate, new DataSourceTransactionManager(database),
+                writeBehindProperties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gameRepository.shutdown();
+        database.shutdown();
+    }
+
+    @Test
+    public void savedGameIsPersistedOnlyAfterFlush() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+
+        // Act
+        gameRepository.save(game);
+
+        // Assert
+        assertSame(game, gameRepository.findGame(game).orElseThrow());
+        assertEquals(0, countGames());
+        assertEquals(1, gameRepository.getPendingChangeCount());
+
+        gameRepository.flush();
+
+        assertEquals(1, countGames());
+        assertEquals(0, gameRepository.getPendingChangeCount());
+        assertEquals(0, gameRepository.getFlushLagMillis());
+    }
+
+    @Test
+    public void scoreUpdatesAreCoalescedToLatestState() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+        gameRepository.save(game);
+
+        // Act
+        game.setHomeTeamScore(1);
+        gameRepository.save(game);
+        game.setAwayTeamScore(2);
+        gameRepository.save(game);
+
+        // Assert
+        assertEquals(1, gameRepository.getPendingChangeCount());
+
+        gameRepository.flush();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT home_team_score, away_team_score FROM game WHERE home_team = ? AND away_team = ?", TEAM_A, TEAM_B);
+        assertEquals(1, ((Number) row.get("HOME_TEAM_SCORE")).intValue());
+        assertEquals(2, ((Number) row.get("AWAY_TEAM_SCORE")).intValue());
+    }
+
+    @Test
+    public void deletedGamesAreRemovedFromDatabase() {
+        // Arrange
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .build();
+        gameRepository.save(game1);
+        gameRepository.save(game2);
+        gameRepository.flush();
+
+        // Act
+        gameRepository.delete(game1);
+        gameRepository.flush();
+
+        // Assert
+        assertEquals(List.of(TEAM_C), jdbcTemplate.queryForList("SELECT home_team FROM game", String.class));
+
+        gameRepository.deleteAll();
+        gameRepository.save(game1);
+        gameRepository.flush();
+
+        assertEquals(List.of(TEAM_A), jdbcTemplate.queryForList("SELECT home_team FROM game", String.class));
+        assertEquals(List.of(game1), gameRepository.findAll());
+    }
+
+    @Test
+    public void failedFlushKeepsChangesForNextFlush() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        gameRepository.save(game);
+        beforeFailingBatch = () -> {
+        };
+
+        // Act
+        assertThrows(DataAccessResourceFailureException.class, () -> gameRepository.flush());
+
+        // Assert
+        assertEquals(0, countGames());
+        assertEquals(1, gameRepository.getPendingChangeCount());
+
+        gameRepository.flush();
+
+        assertEquals(1, countGames());
+    }
+
+    @Test
+    public void failedFlushDoesNotRestoreGamesDeletedMeanwhile() {
+        // Arrange
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .build();
+        gameRepository.save(game1);
+        gameRepository.flush();
+        gameRepository.save(game2);
+        beforeFailingBatch = () -> gameRepository.deleteAll();
+
+        // Act
+        assertThrows(DataAccessResourceFailureException.class, () -> gameRepository.flush());
+        gameRepository.flush();
+
+        // Assert
+        assertTrue(gameRepository.findAll().isEmpty());
+        assertEquals(0, countGames());
+    }
+
+    @Test
+    public void gameWithoutTeamNameIsRejectedOnSave() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().build())
+                .build();
+
+        // Act
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.save(game));
+        assertTrue(gameRepository.findAll().isEmpty());
+        assertEquals(0, gameRepository.getPendingChangeCount());
+    }
+
+    @Test
+    public void changeRejectedByDatabaseIsDroppedAfterMaxAttempts() {
+        // Arrange
+        jdbcTemplate.execute("ALTER TABLE game ADD CONSTRAINT home_team_not_c CHECK (home_team <> '" + TEAM_C + "')");
+        Game game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .build();
+        gameRepository.save(game1);
+        gameRepository.save(game2);
+
+        // Act
+        gameRepository.flush();
+
+        // Assert
+        assertEquals(List.of(TEAM_A), jdbcTemplate.queryForList("SELECT home_team FROM game", String.class));
+        assertEquals(1, gameRepository.getPendingChangeCount());
+
+        gameRepository.flush();
+
+        assertEquals(1, countGames());
+        assertEquals(0, gameRepository.getPendingChangeCount());
+        assertEquals(2, gameRepository.findAll().size());
+    }
+
+    private int countGames() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM game", Integer.class);
+    }
+}
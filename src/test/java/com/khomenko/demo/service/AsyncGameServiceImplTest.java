@@ -0,0 +1,183 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.config.ScoreboardAsyncProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.utils.exception.CustomBusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncGameServiceImplTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+    private static final String TEAM_C = "Team C";
+    private static final String TEAM_D = "Team D";
+    private static final int THREADS = 4;
+    private static final int QUEUE_CAPACITY = 8;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private GameService gameService;
+
+    private AsyncGameServiceImpl asyncGameService;
+
+    private Game game1;
+
+    private Game game2;
+
+    @BeforeEach
+    public void setUp() {
+        gameService = mock(GameService.class);
+
+        ScoreboardAsyncProperties asyncProperties = new ScoreboardAsyncProperties();
+        asyncProperties.setThreads(THREADS);
+        asyncProperties.setQueueCapacity(QUEUE_CAPACITY);
+        asyncGameService = new AsyncGameServiceImpl(gameService, asyncProperties);
+
+        game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .build();
+        game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        asyncGameService.shutdown();
+    }
+
+    @Test
+    public void rejectionIsReturnedAsValue() throws Exception {
+        // Arrange
+        CustomBusinessException error = new CustomBusinessException("Game is missing.");
+        when(gameService.startGame(game1)).thenThrow(error);
+
+        // Act
+        GameResult<Game> result = asyncGameService.startGame(game1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertSame(error, result.getError());
+        assertTrue(result.toOptional().isEmpty());
+    }
+
+    @Test
+    public void operationsOnSameGameRunInSubmissionOrder() throws Exception {
+        // Arrange
+        List<String> operations = new CopyOnWriteArrayList<>();
+        when(gameService.startGame(game1)).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(100);
+            operations.add("start");
+            return game1;
+        });
+        when(gameService.updateScore(game1)).thenAnswer(invocation -> {
+            operations.add("update");
+            return game1;
+        });
+        when(gameService.finishGame(game1)).thenAnswer(invocation -> {
+            operations.add("finish");
+            return game1;
+        });
+
+        // Act
+        CompletableFuture<GameResult<Game>> start = asyncGameService.startGame(game1);
+        CompletableFuture<GameResult<Game>> update = asyncGameService.updateScore(game1);
+        CompletableFuture<GameResult<Game>> finish = asyncGameService.finishGame(game1);
+        CompletableFuture.allOf(start, update, finish).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(List.of("start", "update", "finish"), operations);
+        assertTrue(finish.get().isSuccess());
+    }
+
+    @Test
+    public void slowGameDoesNotBlockOtherGames() throws Exception {
+        // Arrange
+        CountDownLatch slowGameReleased = new CountDownLatch(1);
+        when(gameService.updateScore(game1)).thenAnswer(invocation -> {
+            slowGameReleased.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return game1;
+        });
+        when(gameService.updateScore(game2)).thenReturn(game2);
+
+        // Act
+        CompletableFuture<GameResult<Game>> slowUpdate = asyncGameService.updateScore(game1);
+        GameResult<Game> otherUpdate = asyncGameService.updateScore(game2).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Assert
+        assertSame(game2, otherUpdate.getValue());
+        assertFalse(slowUpdate.isDone());
+
+        slowGameReleased.countDown();
+        assertTrue(slowUpdate.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    public void cancelledFutureDoesNotBreakLane() throws Exception {
+        // Arrange
+        CountDownLatch startReleased = new CountDownLatch(1);
+        when(gameService.startGame(game1)).thenAnswer(invocation -> {
+            startReleased.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return game1;
+        });
+        when(gameService.updateScore(game1)).thenReturn(game1);
+
+        // Act
+        asyncGameService.startGame(game1).cancel(true);
+        CompletableFuture<GameResult<Game>> update = asyncGameService.updateScore(game1);
+        startReleased.countDown();
+
+        // Assert
+        assertTrue(update.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).isSuccess());
+        verify(gameService, times(1)).updateScore(game1);
+    }
+
+    @Test
+    public void errorInOperationIsReturnedAsValueAndLaneContinues() throws Exception {
+        // Arrange
+        when(gameService.startGame(game1)).thenThrow(new AssertionError("Broken operation"));
+        when(gameService.updateScore(game1)).thenReturn(game1);
+
+        // Act
+        CompletableFuture<GameResult<Game>> start = asyncGameService.startGame(game1);
+        CompletableFuture<GameResult<Game>> update = asyncGameService.updateScore(game1);
+
+        // Assert
+        assertFalse(start.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).isSuccess());
+        assertTrue(update.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    public void operationsAboveQueueCapacityAreRejected() throws Exception {
+        // Arrange
+        CountDownLatch released = new CountDownLatch(1);
+        when(gameService.updateScore(game1)).thenAnswer(invocation -> {
+            released.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return game1;
+        });
+
+        // Act
+        List<CompletableFuture<GameResult<Game>>> accepted = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < QUEUE_CAPACITY; i++)
+            accepted.add(asyncGameService.updateScore(game1));
+        GameResult<Game> rejected = asyncGameService.updateScore(game1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        released.countDown();
+
+        // Assert
+        assertFalse(rejected.isSuccess());
+        for (CompletableFuture<GameResult<Game>> future : accepted)
+            assertTrue(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).isSuccess());
+    }
+}
@@ -0,0 +1,165 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.config.ScoreboardCacheProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.utils.exception.CustomBusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingGameServiceTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+    private static final String TEAM_C = "Team C";
+    private static final String TEAM_D = "Team D";
+    private static final LocalDateTime GAME_START_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 14, 33, 48);
+    private static final int CACHE_SIZE = 1;
+
+    private GameServiceImpl gameServiceImpl;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingGameService gameService;
+
+    private Game game1;
+
+    private Game game2;
+
+    @BeforeEach
+    public void setUp() {
+        gameServiceImpl = mock(GameServiceImpl.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        ScoreboardCacheProperties cacheProperties = new ScoreboardCacheProperties();
+        cacheProperties.setGameMaxSize(CACHE_SIZE);
+        cacheProperties.setTeamMaxSize(CACHE_SIZE);
+        gameService = new CachingGameService(gameServiceImpl, cacheProperties, meterRegistry);
+
+        game1 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_A).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+        game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_D).build())
+                .startGameTime(GAME_START_TIME)
+                .build();
+    }
+
+    @Test
+    public void repeatedReadsAreServedFromCache() {
+        // Arrange
+        when(gameServiceImpl.getSummaryOfAllGames()).thenReturn(List.of(game1));
+        when(gameServiceImpl.getGame(game1)).thenReturn(game1);
+        when(gameServiceImpl.hasActiveGame(game1.getHomeTeam())).thenReturn(true);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of(game1), gameService.getSummaryOfAllGames());
+            assertSame(game1, gameService.getGame(game1));
+            assertTrue(gameService.hasActiveGame(game1.getHomeTeam()));
+        }
+
+        // Assert
+        verify(gameServiceImpl, times(1)).getSummaryOfAllGames();
+        verify(gameServiceImpl, times(1)).getGame(game1);
+        verify(gameServiceImpl, times(1)).hasActiveGame(game1.getHomeTeam());
+        assertEquals(2, gameService.getGameCacheStats().getHits());
+        assertEquals(1, gameService.getGameCacheStats().getMisses());
+        assertEquals(2, meterRegistry.get("scoreboard.cache.hits").tag("cache", "summary").functionCounter().count());
+    }
+
+    @Test
+    public void updateScoreInvalidatesOnlyTouchedGameAndSummary() {
+        // Arrange
+        when(gameServiceImpl.getSummaryOfAllGames()).thenReturn(List.of(game1));
+        when(gameServiceImpl.getGame(game1)).thenReturn(game1);
+        when(gameServiceImpl.hasActiveGame(game1.getHomeTeam())).thenReturn(true);
+        gameService.getSummaryOfAllGames();
+        gameService.getGame(game1);
+        gameService.hasActiveGame(game1.getHomeTeam());
+
+        // Act
+        gameService.updateScore(game1);
+        gameService.getSummaryOfAllGames();
+        gameService.getGame(game1);
+        gameService.hasActiveGame(game1.getHomeTeam());
+
+        // Assert
+        verify(gameServiceImpl, times(2)).getSummaryOfAllGames();
+        verify(gameServiceImpl, times(2)).getGame(game1);
+        verify(gameServiceImpl, times(1)).hasActiveGame(game1.getHomeTeam());
+    }
+
+    @Test
+    public void finishGameInvalidatesTeamsOfTouchedGameOnly() {
+        // Arrange
+        when(gameServiceImpl.hasActiveGame(any())).thenReturn(true);
+        gameService.hasActiveGame(game1.getHomeTeam());
+
+        // Act
+        gameService.finishGame(game2);
+        gameService.hasActiveGame(game1.getHomeTeam());
+
+        // Assert
+        verify(gameServiceImpl, times(1)).hasActiveGame(game1.getHomeTeam());
+
+        // Act
+        gameService.finishGame(game1);
+        gameService.hasActiveGame(game1.getHomeTeam());
+
+        // Assert
+        verify(gameServiceImpl, times(2)).hasActiveGame(game1.getHomeTeam());
+    }
+
+    @Test
+    public void leastRecentlyUsedGameIsEvicted() {
+        // Arrange
+        when(gameServiceImpl.getGame(game1)).thenReturn(game1);
+        when(gameServiceImpl.getGame(game2)).thenReturn(game2);
+
+        // Act
+        gameService.getGame(game1);
+        gameService.getGame(game2);
+        gameService.getGame(game1);
+
+        // Assert
+        verify(gameServiceImpl, times(2)).getGame(game1);
+        assertEquals(2, gameService.getGameCacheStats().getEvictions());
+    }
+
+    @Test
+    public void startOfTeamCachedAsActiveIsRejectedFromCache() {
+        // Arrange
+        when(gameServiceImpl.hasActiveGame(game1.getAwayTeam())).thenReturn(true);
+        gameService.hasActiveGame(game1.getAwayTeam());
+
+        // Act and Assert
+        assertThrows(CustomBusinessException.class, () -> gameService.startGame(game1));
+        verify(gameServiceImpl, times(1)).hasActiveGame(game1.getAwayTeam());
+        verify(gameServiceImpl, never()).startGame(any());
+    }
+
+    @Test
+    public void startOfInactiveTeamsIsDelegatedAndInvalidatesTeams() {
+        // Arrange
+        when(gameServiceImpl.startGame(game1)).thenReturn(game1);
+
+        // Act
+        gameService.startGame(game1);
+        gameService.hasActiveGame(game1.getHomeTeam());
+
+        // Assert
+        verify(gameServiceImpl, times(1)).startGame(game1);
+        verify(gameServiceImpl, times(2)).hasActiveGame(game1.getHomeTeam());
+    }
+}
@@ -1,19 +1,32 @@
 package com.khomenko.demo.service;
 
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.config.ScoreboardSummaryProperties;
 import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
 import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.domain.TeamStats;
 import com.khomenko.demo.repository.GameRepository;
+import com.khomenko.demo.repository.GameRepositoryImpl;
 import com.khomenko.demo.utils.exception.CustomBusinessException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,9 +49,22 @@ class GameServiceImplTest {
     @Mock
     private GameRepository gameRepository;
 
-    @InjectMocks
+    @Mock
+    private TeamStatsService teamStatsService;
+
+    @Mock
+    private ScoreboardRanking scoreboardRanking;
+
+    private ScoreboardSummaryProperties summaryProperties;
+
     private GameServiceImpl gameService;
 
+    @BeforeEach
+    public void setUp() {
+        summaryProperties = new ScoreboardSummaryProperties();
+        gameService = new GameServiceImpl(gameRepository, teamStatsService, summaryProperties, scoreboardRanking);
+    }
+
     //startGame()
     @Test
     public void bothTeamsDoNotExistInSameGameToStartGame() {
@@ -61,23 +87,18 @@ class GameServiceImplTest {
         // Arrange
         Team homeTeam = Team.builder().countryOfOrigin(TEAM_A).build();
         Team awayTeam = Team.builder().countryOfOrigin(TEAM_B).build();
-        Team teamC = Team.builder().countryOfOrigin(TEAM_C).build();
         Game game = Game.builder()
                 .homeTeam(homeTeam)
                 .awayTeam(awayTeam)
                 .startGameTime(null) // Game isn't started. Game to be started
                 .build();
-        Game gameRunning = Game.builder()
-                .homeTeam(homeTeam)
-                .awayTeam(teamC)
-                .startGameTime(GAME_START_TIME) // Game started.
-                .build();
-        List<Game> gameList = List.of(game, gameRunning);
 
-        when(gameRepository.findAll()).thenReturn(gameList);
+        when(gameRepository.findGame(game)).thenReturn(Optional.of(game));
+        when(gameRepository.hasActiveGame(homeTeam)).thenReturn(true); // Home team plays a started game against team C
 
         // Act and Assert
         assertThrows(CustomBusinessException.class, () -> gameService.startGame(game));
+        verify(gameRepository, never()).save(any());
     }
 
     @Test
@@ -85,23 +106,18 @@ class GameServiceImplTest {
         // Arrange
         Team homeTeam = Team.builder().countryOfOrigin(TEAM_A).build();
         Team awayTeam = Team.builder().countryOfOrigin(TEAM_B).build();
-        Team teamD = Team.builder().countryOfOrigin(TEAM_D).build();
         Game game = Game.builder()
                 .homeTeam(homeTeam)
                 .awayTeam(awayTeam)
                 .startGameTime(null) // Game isn't started. Game to be started
                 .build();
-        Game gameRunning = Game.builder()
-                .homeTeam(teamD)
-                .awayTeam(awayTeam)
-                .startGameTime(GAME_START_TIME) // Game started.
-                .build();
-        List<Game> gameList = List.of(game, gameRunning);
 
-        when(gameRepository.findAll()).thenReturn(gameList);
+        when(gameRepository.findGame(game)).thenReturn(Optional.of(game));
+        when(gameRepository.hasActiveGame(awayTeam)).thenReturn(true); // Away team plays a started game against team D
 
         // Act and Assert
         assertThrows(CustomBusinessException.class, () -> gameService.startGame(game));
+        verify(gameRepository, never()).save(any());
     }
 
     @Test
@@ -298,6 +314,7 @@ class GameServiceImplTest {
         assertNotNull(result);
         assertNotNull(result.getEndGameTime());
         verify(gameRepository, times(1)).save(result); // Verify endGameTime is updated
+        verify(teamStatsService, times(1)).applyFinishedGame(gameSaved, START_SCORE, START_SCORE); // Verify team stats are updated
     }
 
     //updateScore()
@@ -419,31 +436,82 @@ class GameServiceImplTest {
         assertEquals(UPDATE_SCORE, result.getHomeTeamScore());
         assertEquals(UPDATE_SCORE, result.getAwayTeamScore());
         verify(gameRepository, times(1)).save(game); // Verify endGameTime is updated
+        verify(teamStatsService, times(1)).applyScoreChange(gameSaved, START_SCORE, START_SCORE); // Verify team stats are updated
+        verify(scoreboardRanking, times(1)).update(gameSaved); // Verify rank of the game is updated
     }
 
     @Test
-    public void noStartedGamesNoGamesInSummary() {
+    public void parallelUpdatesAndFinishApplyEachGoalOnce() throws Exception {
         // Arrange
-        Team homeTeamA = Team.builder().countryOfOrigin(TEAM_A).build();
-        Team awayTeamB = Team.builder().countryOfOrigin(TEAM_B).build();
-        Team homeTeamC = Team.builder().countryOfOrigin(TEAM_C).build();
-        Team awayTeamD = Team.builder().countryOfOrigin(TEAM_D).build();
+        int threads = 8;
+        int updatesPerThread = 2_000;
+        GameRepositoryImpl repository = new GameRepositoryImpl();
+        TeamStatsServiceImpl teamStats = new TeamStatsServiceImpl();
+        GameServiceImpl concurrentGameService = new GameServiceImpl(repository, teamStats, summaryProperties,
+                new ScoreboardRanking(event -> {
+                }, new ScoreboardVersionTracker(), new ScoreboardRepositoryProperties()));
+        Team homeTeam = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team awayTeam = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game game = Game.builder().homeTeam(homeTeam).awayTeam(awayTeam).build();
+        repository.save(game);
+        concurrentGameService.startGame(game);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> updates = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            updates.add(executor.submit(() -> {
+                startLatch.await();
+                for (int update = 0; update < updatesPerThread; update++) {
+                    try {
+                        concurrentGameService.updateScore(Game.builder()
+                                .homeTeam(homeTeam)
+                                .awayTeam(awayTeam)
+                                .homeTeamScore(ThreadLocalRandom.current().nextInt(UPDATE_SCORE))
+                                .awayTeamScore(ThreadLocalRandom.current().nextInt(UPDATE_SCORE))
+                                .build());
+                    } catch (CustomBusinessException e) {
+                        // Updates racing the finish are rejected once the game is finished.
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<Game> finish = executor.submit(() -> {
+            startLatch.await();
+            Thread.sleep(5);
+            return concurrentGameService.finishGame(Game.builder()
+                    .homeTeam(homeTeam)
+                    .awayTeam(awayTeam)
+                    .homeTeamScore(3)
+                    .awayTeamScore(1)
+                    .endGameTime(LocalDateTime.now().plusHours(2))
+                    .build());
+        });
 
-        Game game1 = Game.builder()
-                .homeTeam(homeTeamA)
-                .awayTeam(awayTeamB)
-                .homeTeamScore(START_SCORE)
-                .awayTeamScore(START_SCORE)
-                .build();
+        // Act
+        startLatch.countDown();
+        for (Future<?> update : updates)
+            update.get();
+        Game finishedGame = finish.get();
+        executor.shutdown();
 
-        Game game2 = Game.builder()
-                .homeTeam(homeTeamC)
-                .awayTeam(awayTeamD)
-                .homeTeamScore(START_SCORE)
-                .awayTeamScore(START_SCORE)
-                .build();
+        // Assert
+        TeamStats homeTeamStats = teamStats.getTeamStats(homeTeam).orElseThrow();
+        TeamStats awayTeamStats = teamStats.getTeamStats(awayTeam).orElseThrow();
+        assertEquals(3, finishedGame.getHomeTeamScore());
+        assertEquals(3, homeTeamStats.getGoalsFor());
+        assertEquals(1, homeTeamStats.getGoalsAgainst());
+        assertEquals(1, awayTeamStats.getGoalsFor());
+        assertEquals(3, awayTeamStats.getGoalsAgainst());
+        assertEquals(1, homeTeamStats.getGamesPlayed());
+        assertEquals(3, concurrentGameService.getGame(game).getHomeTeamScore());
+    }
 
-        when(gameRepository.findAll()).thenReturn(List.of(game1, game2));
+    @Test
+    public void noStartedGamesNoGamesInSummary() {
+        // Arrange
+        when(gameRepository.findAllStarted()).thenReturn(Collections.emptyList()); // Repository holds only not started games
 
         // Act and Assert
         assertEquals(Collections.emptyList(), gameService.getSummaryOfAllGames());
@@ -483,9 +551,171 @@ class GameServiceImplTest {
                 .startGameTime(GAME_END_TIME)
                 .build();
 
-        when(gameRepository.findAll()).thenReturn(List.of(game1, game2, game3));
+        when(gameRepository.findAllStarted()).thenReturn(List.of(game1, game2, game3));
 
         // Act and Assert
         assertEquals(List.of(game3, game2, game1), gameService.getSummaryOfAllGames());
     }
+
+    //getGamesStartedBetween(), getGamesFinishedBetween(), getGamesRunningLongerThan()
+    @Test
+    public void invalidTimeWindowToGetGamesStartedBetween() {
+        // Act and Assert
+        assertThrows(CustomBusinessException.class, () -> gameService.getGamesStartedBetween(GAME_END_TIME, GAME_START_TIME));
+        verify(gameRepository, never()).findAllByStartGameTimeBetween(any(), any());
+    }
+
+    @Test
+    public void validTimeWindowToGetGamesStartedBetween() {
+        // Arrange
+        Team homeTeam = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team awayTeam = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game game = Game.builder()
+                .homeTeam(homeTeam)
+                .awayTeam(awayTeam)
+                .startGameTime(GAME_START_TIME)
+                .build();
+
+        when(gameRepository.findAllByStartGameTimeBetween(BEFORE_START_GAME_TIME, GAME_END_TIME)).thenReturn(List.of(game));
+
+        // Act and Assert
+        assertEquals(List.of(game), gameService.getGamesStartedBetween(BEFORE_START_GAME_TIME, GAME_END_TIME));
+    }
+
+    @Test
+    public void invalidTimeWindowToGetGamesFinishedBetween() {
+        // Act and Assert
+        assertThrows(CustomBusinessException.class, () -> gameService.getGamesFinishedBetween(GAME_END_TIME, GAME_START_TIME));
+        verify(gameRepository, never()).findAllByEndGameTimeBetween(any(), any());
+    }
+
+    @Test
+    public void negativeDurationToGetGamesRunningLongerThan() {
+        // Act and Assert
+        assertThrows(CustomBusinessException.class, () -> gameService.getGamesRunningLongerThan(Duration.ofHours(-2)));
+        verify(gameRepository, never()).findAllActiveStartedBefore(any());
+    }
+
+    @Test
+    public void parallelEvaluationReturnsSameSummary() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team teamB = Team.builder().countryOfOrigin(TEAM_B).build();
+        Team teamC = Team.builder().countryOfOrigin(TEAM_C).build();
+        Team teamD = Team.builder().countryOfOrigin(TEAM_D).build();
+
+        Game game1 = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(teamB)
+                .homeTeamScore(0)
+                .awayTeamScore(3)
+                .startGameTime(GAME_START_TIME)
+                .build();
+
+        Game game2 = Game.builder()
+                .homeTeam(teamC)
+                .awayTeam(teamD)
+                .homeTeamScore(3)
+                .awayTeamScore(2)
+                .startGameTime(BEFORE_START_GAME_TIME)
+                .build();
+
+        summaryProperties.setParallelThreshold(0);
+        summaryProperties.setParallelism(2);
+        GameServiceImpl parallelGameService = new GameServiceImpl(gameRepository, teamStatsService, summaryProperties, scoreboardRanking);
+        when(gameRepository.findAllStarted()).thenReturn(List.of(game1, game2));
+
+        // Act and Assert
+        try {
+            assertEquals(List.of(game2, game1), parallelGameService.getSummaryOfAllGames());
+        } finally {
+            parallelGameService.shutdown();
+        }
+    }
+
+    //getRankOfGame(), getGamesInRankRange()
+    @Test
+    public void notRankedGameToGetRankOfGame() {
+        // Arrange
+        Team homeTeam = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team awayTeam = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game game = Game.builder()
+                .homeTeam(homeTeam)
+                .awayTeam(awayTeam)
+                .build();
+
+        when(gameRepository.findGame(game)).thenReturn(Optional.of(game));
+        when(scoreboardRanking.getRank(game)).thenReturn(OptionalInt.empty());
+
+        // Act and Assert
+        assertThrows(CustomBusinessException.class, () -> gameService.getRankOfGame(game));
+    }
+
+    @Test
+    public void deletedGameToGetRankOfGame() {
+        // Arrange
+        Team homeTeam = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team awayTeam = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game game = Game.builder()
+                .homeTeam(homeTeam)
+                .awayTeam(awayTeam)
+                .build();
+
+        when(gameRepository.findGame(game)).thenReturn(Optional.empty()); // Game was deleted from the repository
+
+        // Act and Assert
+        assertThrows(CustomBusinessException.class, () -> gameService.getRankOfGame(game));
+        verify(scoreboardRanking, times(1)).remove(game); // Verify stale rank of the game is dropped
+        verify(scoreboardRanking, never()).getRank(any());
+    }
+
+    @Test
+    public void invalidRankRangeToGetGamesInRankRange() {
+        // Act and Assert
+        assertThrows(CustomBusinessException.class, () -> gameService.getGamesInRankRange(0, 2));
+        assertThrows(CustomBusinessException.class, () -> gameService.getGamesInRankRange(3, 2));
+    }
+
+    @Test
+    public void rankedGamesToGetGamesInRankRange() {
+        // Arrange
+        Team homeTeam = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team awayTeam = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game gameSaved = Game.builder()
+                .homeTeam(homeTeam)
+                .awayTeam(awayTeam)
+                .homeTeamScore(UPDATE_SCORE)
+                .startGameTime(GAME_START_TIME)
+                .build();
+
+        when(scoreboardRanking.getGamesInRankRange(1, 2)).thenReturn(List.of(GameKey.of(gameSaved)));
+        when(gameRepository.findGame(any())).thenReturn(Optional.of(gameSaved));
+
+        // Act and Assert
+        assertEquals(List.of(gameSaved), gameService.getGamesInRankRange(1, 2));
+    }
+
+    @Test
+    public void deletedGamesAreDroppedFromRankRange() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team teamB = Team.builder().countryOfOrigin(TEAM_B).build();
+        Team teamC = Team.builder().countryOfOrigin(TEAM_C).build();
+        Team teamD = Team.builder().countryOfOrigin(TEAM_D).build();
+        Game deletedGame = Game.builder().homeTeam(teamA).awayTeam(teamB).build();
+        Game game2 = Game.builder().homeTeam(teamC).awayTeam(teamD).build();
+        Game game3 = Game.builder().homeTeam(teamA).awayTeam(teamD).build();
+
+        when(scoreboardRanking.getGamesInRankRange(1, 2)).thenReturn(
+                List.of(GameKey.of(deletedGame), GameKey.of(game2)),
+                List.of(GameKey.of(game2), GameKey.of(game3)));
+        when(scoreboardRanking.remove(deletedGame)).thenReturn(true);
+        when(gameRepository.findGame(deletedGame)).thenReturn(Optional.empty());
+        when(gameRepository.findGame(game2)).thenReturn(Optional.of(game2));
+        when(gameRepository.findGame(game3)).thenReturn(Optional.of(game3));
+
+        // Act and Assert
+        assertEquals(List.of(game2, game3), gameService.getGamesInRankRange(1, 2));
+        verify(scoreboardRanking, times(1)).remove(deletedGame);
+    }
 }
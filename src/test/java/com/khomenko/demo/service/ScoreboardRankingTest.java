@@ -0,0 +1,178 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.GameKey;
+import com.khomenko.demo.domain.RankChange;
+import com.khomenko.demo.domain.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ScoreboardRankingTest {
+    private static final LocalDateTime GAME_START_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 14, 33, 48);
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private ScoreboardRanking scoreboardRanking;
+
+    private Game game1;
+
+    private Game game2;
+
+    private Game game3;
+
+    @BeforeEach
+    public void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        scoreboardRanking = new ScoreboardRanking(eventPublisher, new ScoreboardVersionTracker(), new ScoreboardRepositoryProperties());
+
+        game1 = startedGame("Team A", "Team B", 0, 0);
+        game2 = startedGame("Team C", "Team D", 1, 1);
+        game3 = startedGame("Team E", "Team F", 2, 2);
+        scoreboardRanking.add(game1);
+        scoreboardRanking.add(game2);
+        scoreboardRanking.add(game3);
+    }
+
+    @Test
+    public void gamesAreRankedBySummaryOrder() {
+        // Act and Assert
+        assertEquals(3, scoreboardRanking.getRank(game1).orElseThrow());
+        assertEquals(2, scoreboardRanking.getRank(game2).orElseThrow());
+        assertEquals(1, scoreboardRanking.getRank(game3).orElseThrow());
+        assertEquals(List.of(GameKey.of(game2), GameKey.of(game1)), scoreboardRanking.getGamesInRankRange(2, 5));
+    }
+
+    @Test
+    public void notStartedGameIsNotRanked() {
+        // Arrange
+        Game game = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin("Team G").build())
+                .awayTeam(Team.builder().countryOfOrigin("Team H").build())
+                .build();
+
+        // Act and Assert
+        assertTrue(scoreboardRanking.getRank(game).isEmpty());
+    }
+
+    @Test
+    public void removedGameIsNotRanked() {
+        // Act
+        boolean removed = scoreboardRanking.remove(game2);
+
+        // Assert
+        assertTrue(removed);
+        assertFalse(scoreboardRanking.remove(game2));
+        assertTrue(scoreboardRanking.getRank(game2).isEmpty());
+        assertEquals(2, scoreboardRanking.getRank(game1).orElseThrow());
+        assertEquals(List.of(GameKey.of(game3), GameKey.of(game1)), scoreboardRanking.getGamesInRankRange(1, 3));
+        assertEquals(2, scoreboardRanking.snapshot(0).entries().size());
+    }
+
+    @Test
+    public void scoreUpdateEmitsRankDeltasOfPassedGames() {
+        // Act
+        game1.setHomeTeamScore(3);
+        List<RankChange> rankChanges = scoreboardRanking.update(game1);
+
+        // Assert
+        assertEquals(List.of(
+                new RankChange(game1.getHomeTeam(), game1.getAwayTeam(), 3, 1),
+                new RankChange(game3.getHomeTeam(), game3.getAwayTeam(), 1, 2),
+                new RankChange(game2.getHomeTeam(), game2.getAwayTeam(), 2, 3)), rankChanges);
+        assertEquals(rankChanges, scoreboardRanking.getLastRankChanges());
+        verify(eventPublisher, times(1)).publishEvent(new ScoreboardRankChangedEvent(rankChanges));
+    }
+
+    @Test
+    public void scoreUpdateWithoutMoveEmitsNothing() {
+        // Act
+        game3.setHomeTeamScore(5);
+        List<RankChange> rankChanges = scoreboardRanking.update(game3);
+
+        // Assert
+        assertTrue(rankChanges.isEmpty());
+        assertEquals(1, scoreboardRanking.getRank(game3).orElseThrow());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void snapshotContainsGamesChangedAfterSinceVersion() {
+        // Arrange
+        long sinceVersion = scoreboardRanking.snapshot(0).version();
+        game1.setHomeTeamScore(5);
+        scoreboardRanking.update(game1);
+
+        // Act
+        ScoreboardRanking.Snapshot snapshot = scoreboardRanking.snapshot(sinceVersion);
+
+        // Assert
+        assertEquals(sinceVersion + 1, snapshot.version());
+        assertEquals(1, snapshot.entries().size());
+        assertEquals(GameKey.of(game1), snapshot.entries().get(0).key());
+        assertEquals(5, snapshot.entries().get(0).homeTeamScore());
+        assertEquals(3, scoreboardRanking.snapshot(0).entries().size());
+    }
+
+    @Test
+    public void snapshotVersionNeverRunsAheadOfItsGames() throws InterruptedException {
+        // Arrange
+        Thread updater = new Thread(() -> {
+            for (int score = 1; score <= 10_000; score++) {
+                game1.setHomeTeamScore(score);
+                scoreboardRanking.update(game1);
+            }
+        });
+        updater.start();
+
+        // Act and Assert
+        while (updater.isAlive()) {
+            ScoreboardRanking.Snapshot snapshot = scoreboardRanking.snapshot(0);
+            long newestGameVersion = snapshot.entries().stream().mapToLong(ScoreboardRanking.RankEntry::version).max().orElseThrow();
+            assertEquals(snapshot.version(), newestGameVersion);
+        }
+        updater.join();
+    }
+
+    @Test
+    public void offHeapRankingKeepsMostRecentlyFinishedGames() {
+        // Arrange
+        ScoreboardRepositoryProperties repositoryProperties = new ScoreboardRepositoryProperties();
+        repositoryProperties.setType("off-heap");
+        repositoryProperties.setOffHeapMaxRankedFinishedGames(1);
+        ScoreboardRanking offHeapRanking = new ScoreboardRanking(eventPublisher, new ScoreboardVersionTracker(), repositoryProperties);
+        offHeapRanking.add(game1);
+        offHeapRanking.add(game2);
+        offHeapRanking.add(game3);
+
+        // Act
+        game1.setEndGameTime(GAME_START_TIME.plusHours(2));
+        offHeapRanking.update(game1);
+        game2.setEndGameTime(GAME_START_TIME.plusHours(2));
+        offHeapRanking.update(game2);
+
+        // Assert
+        assertTrue(offHeapRanking.getRank(game1).isEmpty());
+        assertEquals(2, offHeapRanking.getRank(game2).orElseThrow());
+        assertEquals(1, offHeapRanking.getRank(game3).orElseThrow());
+        assertEquals(2, offHeapRanking.snapshot(0).entries().size());
+    }
+
+    private static Game startedGame(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        return Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(homeTeam).build())
+                .awayTeam(Team.builder().countryOfOrigin(awayTeam).build())
+                .homeTeamScore(homeTeamScore)
+                .awayTeamScore(awayTeamScore)
+                .startGameTime(GAME_START_TIME)
+                .build();
+    }
+}
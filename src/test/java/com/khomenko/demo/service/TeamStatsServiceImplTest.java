@@ -0,0 +1,140 @@
+package com.khomenko.demo.service;
+
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.domain.TeamStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamStatsServiceImplTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+    private static final String TEAM_C = "Team C";
+    private static final String TEAM_D = "Team D";
+    private static final int START_SCORE = 0;
+
+    private TeamStatsServiceImpl teamStatsService;
+
+    @BeforeEach
+    public void setUp() {
+        teamStatsService = new TeamStatsServiceImpl();
+    }
+
+    @Test
+    public void noScoreChangesNoTeamStats() {
+        // Act and Assert
+        assertTrue(teamStatsService.getTeamStats(Team.builder().countryOfOrigin(TEAM_A).build()).isEmpty());
+        assertTrue(teamStatsService.getLeagueTable().isEmpty());
+    }
+
+    @Test
+    public void scoreChangeUpdatesGoalsOnly() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team teamB = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game game = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(teamB)
+                .homeTeamScore(2)
+                .awayTeamScore(1)
+                .build();
+
+        // Act
+        teamStatsService.applyScoreChange(game, START_SCORE, START_SCORE);
+
+        // Assert
+        TeamStats homeTeamStats = teamStatsService.getTeamStats(teamA).orElseThrow();
+        assertEquals(2, homeTeamStats.getGoalsFor());
+        assertEquals(1, homeTeamStats.getGoalsAgainst());
+        assertEquals(0, homeTeamStats.getGamesPlayed());
+        assertEquals(0, homeTeamStats.getPoints());
+
+        TeamStats awayTeamStats = teamStatsService.getTeamStats(teamB).orElseThrow();
+        assertEquals(1, awayTeamStats.getGoalsFor());
+        assertEquals(2, awayTeamStats.getGoalsAgainst());
+    }
+
+    @Test
+    public void finishedGameAppliesFinalScoreAndResult() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team teamB = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game game = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(teamB)
+                .homeTeamScore(1)
+                .awayTeamScore(1)
+                .build();
+        teamStatsService.applyScoreChange(game, START_SCORE, START_SCORE);
+
+        // Act
+        game.setHomeTeamScore(3);
+        teamStatsService.applyFinishedGame(game, 1, 1);
+
+        // Assert
+        TeamStats homeTeamStats = teamStatsService.getTeamStats(teamA).orElseThrow();
+        assertEquals(3, homeTeamStats.getGoalsFor());
+        assertEquals(1, homeTeamStats.getGoalsAgainst());
+        assertEquals(1, homeTeamStats.getGamesPlayed());
+        assertEquals(1, homeTeamStats.getWins());
+        assertEquals(3, homeTeamStats.getPoints());
+
+        TeamStats awayTeamStats = teamStatsService.getTeamStats(teamB).orElseThrow();
+        assertEquals(1, awayTeamStats.getGamesPlayed());
+        assertEquals(1, awayTeamStats.getLosses());
+        assertEquals(0, awayTeamStats.getPoints());
+    }
+
+    @Test
+    public void leagueTableIsRankedByPointsThenGoalDifference() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team teamB = Team.builder().countryOfOrigin(TEAM_B).build();
+        Team teamC = Team.builder().countryOfOrigin(TEAM_C).build();
+        Team teamD = Team.builder().countryOfOrigin(TEAM_D).build();
+        Game game1 = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(teamB)
+                .homeTeamScore(1)
+                .awayTeamScore(1)
+                .build();
+        Game game2 = Game.builder()
+                .homeTeam(teamC)
+                .awayTeam(teamD)
+                .homeTeamScore(0)
+                .awayTeamScore(4)
+                .build();
+
+        // Act
+        teamStatsService.applyFinishedGame(game1, START_SCORE, START_SCORE);
+        teamStatsService.applyFinishedGame(game2, START_SCORE, START_SCORE);
+
+        // Assert
+        List<Team> rankedTeams = teamStatsService.getLeagueTable().stream().map(TeamStats::getTeam).toList();
+        assertEquals(List.of(teamD, teamA, teamB, teamC), rankedTeams);
+    }
+
+    @Test
+    public void returnedStatsAreSnapshots() {
+        // Arrange
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        Team teamB = Team.builder().countryOfOrigin(TEAM_B).build();
+        Game game = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(teamB)
+                .homeTeamScore(1)
+                .awayTeamScore(START_SCORE)
+                .build();
+        teamStatsService.applyScoreChange(game, START_SCORE, START_SCORE);
+
+        // Act
+        teamStatsService.getTeamStats(teamA).orElseThrow().setGoalsFor(10);
+
+        // Assert
+        assertEquals(1, teamStatsService.getTeamStats(teamA).orElseThrow().getGoalsFor());
+    }
+}
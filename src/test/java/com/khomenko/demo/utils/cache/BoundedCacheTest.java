@@ -0,0 +1,70 @@
+package com.khomenko.demo.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+    private static final String KEY_A = "a";
+    private static final String KEY_B = "b";
+    private static final int CACHE_SIZE = 2;
+
+    @Test
+    public void loadOfInvalidatedKeyIsNotCached() {
+        // Arrange
+        BoundedCache<String, String> cache = new BoundedCache<>(CACHE_SIZE);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.get(KEY_A, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(KEY_A); // Mutation of the key while its value is loading
+            return "stale";
+        });
+        String value = cache.get(KEY_A, () -> {
+            loads.incrementAndGet();
+            return "fresh";
+        });
+
+        // Assert
+        assertEquals("fresh", value);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void loadIsCachedWhenOtherKeyIsInvalidated() {
+        // Arrange
+        BoundedCache<String, String> cache = new BoundedCache<>(CACHE_SIZE);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            cache.get(KEY_A, () -> {
+                loads.incrementAndGet();
+                cache.invalidate(KEY_B); // Mutation of another key while the value is loading
+                return "value";
+            });
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    public void failedLoadIsNotCached() {
+        // Arrange
+        BoundedCache<String, String> cache = new BoundedCache<>(CACHE_SIZE);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> cache.get(KEY_A, () -> {
+            throw new IllegalStateException("Load failed");
+        }));
+
+        // Assert
+        assertEquals("value", cache.get(KEY_A, () -> "value"));
+        assertEquals(2, cache.getStats().getMisses());
+    }
+}
@@ -0,0 +1,159 @@
+package com.khomenko.demo.utils.codec;
+
+import com.khomenko.demo.config.ScoreboardRepositoryProperties;
+import com.khomenko.demo.domain.Game;
+import com.khomenko.demo.domain.Team;
+import com.khomenko.demo.service.ScoreboardRanking;
+import com.khomenko.demo.service.ScoreboardVersionTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardBinaryEncoderTest {
+    private static final String TEAM_A = "Team A";
+    private static final String TEAM_B = "Team B";
+    private static final String TEAM_C = "Team C";
+    private static final LocalDateTime GAME_START_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 14, 33, 48);
+    private static final LocalDateTime GAME_END_TIME = LocalDateTime.of(2023, Month.AUGUST, 28, 15, 33, 48);
+
+    private ScoreboardRanking scoreboardRanking;
+
+    private ScoreboardBinaryEncoder binaryEncoder;
+
+    private Game game1;
+
+    private Game game2;
+
+    @BeforeEach
+    public void setUp() {
+        scoreboardRanking = new ScoreboardRanking(event -> {
+        }, new ScoreboardVersionTracker(), new ScoreboardRepositoryProperties());
+        binaryEncoder = new ScoreboardBinaryEncoder();
+
+        Team teamA = Team.builder().countryOfOrigin(TEAM_A).build();
+        game1 = Game.builder()
+                .homeTeam(teamA)
+                .awayTeam(Team.builder().countryOfOrigin(TEAM_B).build())
+                .homeTeamScore(3)
+                .awayTeamScore(2)
+                .startGameTime(GAME_START_TIME)
+                .endGameTime(GAME_END_TIME)
+                .build();
+        game2 = Game.builder()
+                .homeTeam(Team.builder().countryOfOrigin(TEAM_C).build())
+                .awayTeam(teamA)
+                .homeTeamScore(1)
+                .startGameTime(GAME_START_TIME)
+                .build();
+    }
+
+    @Test
+    public void fullSummaryIsEncodedWithPayloadTeamIds() {
+        // Arrange
+        scoreboardRanking.add(game1);
+        scoreboardRanking.add(game2);
+
+        // Act
+        ByteBuffer payload = ByteBuffer.wrap(binaryEncoder.encode(scoreboardRanking.snapshot(0), 0));
+
+        // Assert header
+        assertEquals('S', payload.get());
+        assertEquals('B', payload.get());
+        assertEquals(2, payload.get());
+        assertEquals(0, payload.get());
+        assertEquals(2, readVarLong(payload));
+        assertEquals(0, readVarLong(payload));
+        assertEquals(2, readVarLong(payload));
+
+        // Assert first game
+        assertEquals(TEAM_A, readNewTeam(payload));
+        assertEquals(TEAM_B, readNewTeam(payload));
+        assertEquals(3, readVarLong(payload));
+        assertEquals(2, readVarLong(payload));
+        assertEquals(GAME_START_TIME.toInstant(ZoneOffset.UTC).toEpochMilli(), readVarLong(payload));
+        assertEquals(3_600_000 + 1, readVarLong(payload));
+
+        // Assert second game refers to already written team A by id only
+        assertEquals(TEAM_C, readNewTeam(payload));
+        assertEquals(0, readVarLong(payload));
+        assertEquals(1, readVarLong(payload));
+        assertEquals(0, readVarLong(payload));
+        assertEquals(GAME_START_TIME.toInstant(ZoneOffset.UTC).toEpochMilli(), readVarLong(payload));
+        assertEquals(0, readVarLong(payload));
+        assertFalse(payload.hasRemaining());
+    }
+
+    @Test
+    public void deltaSummaryContainsOnlyChangedGames() {
+        // Arrange
+        scoreboardRanking.add(game1);
+        scoreboardRanking.add(game2);
+        long sinceVersion = scoreboardRanking.snapshot(0).version();
+        game2.setAwayTeamScore(1);
+        scoreboardRanking.update(game2);
+
+        // Act
+        ByteBuffer payload = ByteBuffer.wrap(binaryEncoder.encode(scoreboardRanking.snapshot(sinceVersion), sinceVersion));
+
+        // Assert
+        payload.position(3);
+        assertEquals(1, payload.get());
+        assertEquals(3, readVarLong(payload));
+        assertEquals(sinceVersion, readVarLong(payload));
+        assertEquals(1, readVarLong(payload));
+        assertEquals(TEAM_C, readNewTeam(payload));
+    }
+
+    @Test
+    public void everyPayloadCarriesTeamNamesAndScoresAboveSixteenBits() {
+        // Arrange
+        game1.setHomeTeamScore(70_000);
+        scoreboardRanking.add(game1);
+        binaryEncoder.encode(scoreboardRanking.snapshot(0), 0);
+
+        // Act
+        ByteBuffer payload = ByteBuffer.wrap(binaryEncoder.encode(scoreboardRanking.snapshot(0), 0));
+
+        // Assert
+        payload.position(4);
+        readVarLong(payload);
+        readVarLong(payload);
+        assertEquals(1, readVarLong(payload));
+        assertEquals(1, readVarLong(payload));
+        assertEquals(TEAM_A, readTeamName(payload));
+        assertEquals(3, readVarLong(payload));
+        assertEquals(TEAM_B, readTeamName(payload));
+        assertEquals(70_000, readVarLong(payload));
+        assertEquals(2, readVarLong(payload));
+    }
+
+    private static String readNewTeam(ByteBuffer payload) {
+        assertEquals(1, readVarLong(payload) & 1);
+        return readTeamName(payload);
+    }
+
+    private static String readTeamName(ByteBuffer payload) {
+        byte[] name = new byte[(int) readVarLong(payload)];
+        payload.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(ByteBuffer payload) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = payload.get();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}